@@ -0,0 +1,79 @@
+package at.doml.fpgasolver.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import at.doml.fpgasolver.execution.BackendType;
+import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.parsing.lexical.LexicalAnalyser;
+import at.doml.fpgasolver.parsing.syntax.SyntaxAnalyser;
+import at.doml.fpgasolver.solver.Evaluator;
+import at.doml.fpgasolver.solver.FPGAGeneticAlgorithm;
+
+public class BackendBenchmark {
+    
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+    private static final long SEED = 42L;
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: BackendBenchmark <function file> <clbs> <inputs> [generations] [popSize] "
+                    + "[threads]");
+            System.exit(-1);
+        }
+        
+        List<FunctionExpression> functions = new SyntaxAnalyser(
+                new LexicalAnalyser(Files.readAllLines(Paths.get(args[0]))).getLexicalUnits()).parseTokens();
+        Evaluator evaluator = new Evaluator(functions.toArray(new FunctionExpression[functions.size()]));
+        
+        int clbs = Integer.parseInt(args[1]);
+        int inputs = Integer.parseInt(args[2]);
+        int generations = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+        int popSize = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        
+        System.out.println("backend,threads,generations,seconds,generationsPerSecond");
+        
+        for (BackendType type : BackendType.values()) {
+            int parallelism = type == BackendType.SEQUENTIAL ? 1 : threads;
+            
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                create(type, parallelism, evaluator, clbs, inputs, generations, popSize).findSolution();
+            }
+            
+            long nanos = 0L;
+            long generationsRun = 0L;
+            
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                FPGAGeneticAlgorithm algorithm = create(type, parallelism, evaluator, clbs, inputs, generations,
+                        popSize);
+                long start = System.nanoTime();
+                
+                algorithm.findSolution();
+                nanos += System.nanoTime() - start;
+                generationsRun += algorithm.getGenerations();
+            }
+            
+            double seconds = nanos / 1e9 / MEASURED_RUNS;
+            
+            System.out.printf(Locale.ROOT, "%s,%d,%d,%.4f,%.2f%n", type.getName(), parallelism,
+                    generationsRun / MEASURED_RUNS, seconds, generationsRun / (nanos / 1e9));
+        }
+    }
+    
+    private static FPGAGeneticAlgorithm create(BackendType type, int parallelism, Evaluator evaluator, int clbs,
+            int inputs, int generations, int popSize) {
+        return FPGAGeneticAlgorithm.builder()
+                .popSize(popSize)
+                .numOfClbs(clbs)
+                .clbInputs(inputs)
+                .maxGenerations(generations)
+                .seed(SEED)
+                .backend(type.create(parallelism))
+                .evaluator(evaluator)
+                .build();
+    }
+}
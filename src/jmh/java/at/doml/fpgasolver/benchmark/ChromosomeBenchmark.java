@@ -0,0 +1,57 @@
+package at.doml.fpgasolver.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import at.doml.fpgasolver.solver.CLBChromosome;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChromosomeBenchmark {
+    
+    @Param({ "16", "64", "256" })
+    private int clbs;
+    
+    @Param({ "2", "4" })
+    private int inputs;
+    
+    @Param({ "0.05" })
+    private double mutationChance;
+    
+    private CLBChromosome parent;
+    private SplittableRandom random;
+    
+    @Setup
+    public void setup() {
+        parent = Workloads.chromosomes(Workloads.evaluator(8, 2, 5), 1, clbs, inputs)[0];
+        random = new SplittableRandom(Workloads.SEED);
+    }
+    
+    @Benchmark
+    public CLBChromosome copy() {
+        return new CLBChromosome(parent);
+    }
+    
+    @Benchmark
+    public CLBChromosome copyAndMutate() {
+        CLBChromosome child = new CLBChromosome(parent);
+        
+        child.mutate(random, mutationChance);
+        
+        return child;
+    }
+}
@@ -0,0 +1,70 @@
+package at.doml.fpgasolver.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import at.doml.fpgasolver.solver.DirectedGraph;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectedGraphBenchmark {
+    
+    @Param({ "16", "64", "256" })
+    private int nodes;
+    
+    @Param({ "2" })
+    private int edgesPerNode;
+    
+    private int[] from;
+    private int[] to;
+    
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(Workloads.SEED);
+        
+        from = new int[(nodes - 1) * edgesPerNode];
+        to = new int[from.length];
+        
+        for (int i = 0; i < from.length; i++) {
+            to[i] = 1 + i / edgesPerNode;
+            from[i] = random.nextInt(to[i]);
+        }
+    }
+    
+    @Benchmark
+    public DirectedGraph connect() {
+        DirectedGraph graph = new DirectedGraph(nodes);
+        
+        for (int i = 0; i < from.length; i++) {
+            graph.connect(from[i], to[i]);
+        }
+        
+        return graph;
+    }
+    
+    @Benchmark
+    public int connectAndQuery() {
+        DirectedGraph graph = connect();
+        int count = 0;
+        
+        for (int node = 0; node < nodes; node++) {
+            count += graph.countValidSources(node);
+        }
+        
+        return count;
+    }
+}
@@ -0,0 +1,55 @@
+package at.doml.fpgasolver.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import at.doml.fpgasolver.solver.CLBChromosome;
+import at.doml.fpgasolver.solver.Evaluator;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+    
+    private static final int CHROMOSOMES = 64;
+    
+    @Param({ "4", "8", "12" })
+    private int variables;
+    
+    @Param({ "16", "64" })
+    private int clbs;
+    
+    @Param({ "2", "4" })
+    private int outputs;
+    
+    private int index;
+    private Evaluator evaluator;
+    private CLBChromosome[] chromosomes;
+    
+    @Setup
+    public void setup() {
+        evaluator = Workloads.evaluator(variables, outputs, 5);
+        chromosomes = Workloads.chromosomes(evaluator, CHROMOSOMES, clbs, 2);
+    }
+    
+    @Benchmark
+    public int evaluate() {
+        CLBChromosome chromosome = chromosomes[index++ & (CHROMOSOMES - 1)];
+        
+        evaluator.evaluate(chromosome);
+        
+        return chromosome.getError();
+    }
+}
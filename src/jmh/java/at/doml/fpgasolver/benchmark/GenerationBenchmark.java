@@ -0,0 +1,64 @@
+package at.doml.fpgasolver.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import at.doml.fpgasolver.execution.BackendType;
+import at.doml.fpgasolver.solver.CLBChromosome;
+import at.doml.fpgasolver.solver.Evaluator;
+import at.doml.fpgasolver.solver.FPGAGeneticAlgorithm;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+    
+    private static final int GENERATIONS = 50;
+    
+    @Param({ "50", "200" })
+    private int popSize;
+    
+    @Param({ "16", "64" })
+    private int clbs;
+    
+    @Param({ "4", "8", "12" })
+    private int variables;
+    
+    @Param({ "sequential", "forkjoin" })
+    private String backend;
+    
+    private Evaluator evaluator;
+    
+    @Setup
+    public void setup() {
+        evaluator = Workloads.evaluator(variables, 2, 5);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(GENERATIONS)
+    public CLBChromosome generation() {
+        return FPGAGeneticAlgorithm.builder()
+                .popSize(popSize)
+                .numOfClbs(clbs)
+                .clbInputs(2)
+                .maxGenerations(GENERATIONS - 1)
+                .seed(Workloads.SEED)
+                .backend(BackendType.forName(backend).create(Runtime.getRuntime().availableProcessors()))
+                .evaluator(evaluator)
+                .build()
+                .findSolution();
+    }
+}
@@ -0,0 +1,58 @@
+package at.doml.fpgasolver.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.parsing.lexical.LexicalAnalyser;
+import at.doml.fpgasolver.parsing.lexical.LexicalUnit;
+import at.doml.fpgasolver.parsing.syntax.SyntaxAnalyser;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    
+    @Param({ "4", "32" })
+    private int functions;
+    
+    @Param({ "4", "8" })
+    private int depth;
+    
+    private List<String> lines;
+    private List<LexicalUnit> units;
+    
+    @Setup
+    public void setup() {
+        lines = Workloads.functionLines(16, functions, depth);
+        units = new LexicalAnalyser(lines).getLexicalUnits();
+    }
+    
+    @Benchmark
+    public List<LexicalUnit> lex() {
+        return new LexicalAnalyser(lines).getLexicalUnits();
+    }
+    
+    @Benchmark
+    public List<FunctionExpression> parse() {
+        return new SyntaxAnalyser(units).parseTokens();
+    }
+    
+    @Benchmark
+    public List<FunctionExpression> lexAndParse() {
+        return new SyntaxAnalyser(new LexicalAnalyser(lines).getLexicalUnits()).parseTokens();
+    }
+}
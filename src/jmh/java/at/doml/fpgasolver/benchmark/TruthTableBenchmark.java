@@ -0,0 +1,55 @@
+package at.doml.fpgasolver.benchmark;
+
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.logic.TruthTable;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TruthTableBenchmark {
+    
+    @Param({ "4", "8", "12", "16" })
+    private int variables;
+    
+    @Param({ "6" })
+    private int depth;
+    
+    private SortedSet<String> variableSet;
+    private FunctionExpression function;
+    private TruthTable first;
+    private TruthTable second;
+    
+    @Setup
+    public void setup() {
+        variableSet = Workloads.variables(variables);
+        function = Workloads.functions(variables, 2, depth).get(0);
+        first = new TruthTable(function, variableSet);
+        second = new TruthTable(Workloads.functions(variables, 2, depth).get(1), variableSet);
+    }
+    
+    @Benchmark
+    public TruthTable construct() {
+        return new TruthTable(function, variableSet);
+    }
+    
+    @Benchmark
+    public int countDifferentRows() {
+        return first.countDifferentRows(second);
+    }
+}
@@ -0,0 +1,91 @@
+package at.doml.fpgasolver.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.expressions.VariableExpression;
+import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
+import at.doml.fpgasolver.parsing.lexical.LexicalAnalyser;
+import at.doml.fpgasolver.parsing.syntax.SyntaxAnalyser;
+import at.doml.fpgasolver.solver.CLBChromosome;
+import at.doml.fpgasolver.solver.Evaluator;
+
+public final class Workloads {
+    
+    public static final long SEED = 0x5EEDL;
+    
+    private static final String[] OPERATORS = { "and", "or", "xor", "nand", "nor", "xnor" };
+    
+    private Workloads() {}
+    
+    public static List<String> functionLines(int numOfVariables, int numOfOutputs, int depth) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<String> lines = new ArrayList<>(numOfOutputs);
+        
+        for (int i = 0; i < numOfOutputs; i++) {
+            StringBuilder builder = new StringBuilder("f").append(i).append(" <= ");
+            
+            appendExpression(builder, random, numOfVariables, depth);
+            lines.add(builder.append(";").toString());
+        }
+        
+        return lines;
+    }
+    
+    private static void appendExpression(StringBuilder builder, SplittableRandom random, int numOfVariables,
+            int depth) {
+        if (depth == 0) {
+            builder.append("x").append(random.nextInt(numOfVariables));
+        } else if (random.nextInt(8) == 0) {
+            builder.append("not (");
+            appendExpression(builder, random, numOfVariables, depth - 1);
+            builder.append(")");
+        } else {
+            builder.append("(");
+            appendExpression(builder, random, numOfVariables, depth - 1);
+            builder.append(" ").append(OPERATORS[random.nextInt(OPERATORS.length)]).append(" ");
+            appendExpression(builder, random, numOfVariables, depth - 1);
+            builder.append(")");
+        }
+    }
+    
+    public static List<FunctionExpression> functions(int numOfVariables, int numOfOutputs, int depth) {
+        List<String> lines = functionLines(numOfVariables, numOfOutputs, depth);
+        
+        return new SyntaxAnalyser(new LexicalAnalyser(lines).getLexicalUnits()).parseTokens();
+    }
+    
+    public static Evaluator evaluator(int numOfVariables, int numOfOutputs, int depth) {
+        List<FunctionExpression> functions = functions(numOfVariables, numOfOutputs, depth);
+        
+        return new Evaluator(functions.toArray(new FunctionExpression[functions.size()]));
+    }
+    
+    public static TreeSet<String> variables(int numOfVariables) {
+        TreeSet<String> variables = new TreeSet<>();
+        
+        for (int i = 0; i < numOfVariables; i++) {
+            variables.add("x" + i);
+        }
+        
+        return variables;
+    }
+    
+    public static CLBChromosome[] chromosomes(Evaluator evaluator, int count, int numOfClbs, int clbInputs) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<IBooleanExpression> variables = new ArrayList<>();
+        CLBChromosome[] chromosomes = new CLBChromosome[count];
+        
+        evaluator.getVariables().forEach(variable -> variables.add(new VariableExpression(variable)));
+        
+        for (int i = 0; i < count; i++) {
+            chromosomes[i] = new CLBChromosome(random.split(), numOfClbs, clbInputs, variables,
+                    evaluator.getFunctionNames());
+            evaluator.evaluate(chromosomes[i]);
+        }
+        
+        return chromosomes;
+    }
+}
@@ -0,0 +1,183 @@
+package at.doml.fpgasolver.checkpoint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import at.doml.fpgasolver.solver.CLBChromosome;
+import at.doml.fpgasolver.solver.ChromosomeCodec;
+
+public class Checkpoint {
+    
+    private static final int MAGIC = 0x46504743;
+    private static final int VERSION = 3;
+    
+    private final int generation;
+    private final long evaluations;
+    private final long seed;
+    private final long randomSeed;
+    private final long[] islandSeeds;
+    private final int numOfClbs;
+    private final int clbInputs;
+    private final int numOfVariables;
+    private final boolean feedForward;
+    private final int levelsBack;
+    private final CLBChromosome best;
+    private final CLBChromosome[] population;
+    
+    public Checkpoint(int generation, long evaluations, long seed, long randomSeed, long[] islandSeeds,
+            int numOfClbs, int clbInputs, int numOfVariables, boolean feedForward, int levelsBack,
+            CLBChromosome best, CLBChromosome[] population) {
+        this.generation = generation;
+        this.evaluations = evaluations;
+        this.seed = seed;
+        this.randomSeed = randomSeed;
+        this.islandSeeds = islandSeeds;
+        this.numOfClbs = numOfClbs;
+        this.clbInputs = clbInputs;
+        this.numOfVariables = numOfVariables;
+        this.feedForward = feedForward;
+        this.levelsBack = levelsBack;
+        this.best = best;
+        this.population = population;
+    }
+    
+    public void write(Path file, ChromosomeCodec codec) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temporary))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(codec.getFingerprint());
+            out.writeInt(generation);
+            out.writeLong(evaluations);
+            out.writeLong(seed);
+            out.writeLong(randomSeed);
+            out.writeInt(islandSeeds.length);
+            
+            for (long islandSeed : islandSeeds) {
+                out.writeLong(islandSeed);
+            }
+            
+            out.writeInt(numOfClbs);
+            out.writeInt(clbInputs);
+            out.writeInt(numOfVariables);
+            out.writeBoolean(feedForward);
+            out.writeInt(levelsBack);
+            codec.write(out, best);
+            codec.writeAll(out, Arrays.asList(population));
+        }
+        
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    public static Checkpoint read(Path file, ChromosomeCodec codec) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("File is not a checkpoint: " + file);
+            }
+            
+            int version = in.readInt();
+            
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version: " + version);
+            }
+            
+            codec.checkFingerprint(in.readLong());
+            
+            int generation = in.readInt();
+            long evaluations = in.readLong();
+            long seed = in.readLong();
+            long randomSeed = in.readLong();
+            int numOfIslands = in.readInt();
+            
+            if (numOfIslands < 0) {
+                throw new IOException("Invalid number of islands: " + numOfIslands);
+            }
+            
+            long[] islandSeeds = new long[numOfIslands];
+            
+            for (int i = 0; i < numOfIslands; i++) {
+                islandSeeds[i] = in.readLong();
+            }
+            
+            int numOfClbs = in.readInt();
+            int clbInputs = in.readInt();
+            int numOfVariables = in.readInt();
+            boolean feedForward = in.readBoolean();
+            int levelsBack = in.readInt();
+            
+            codec.checkOptions(numOfClbs, clbInputs, numOfVariables, feedForward, levelsBack);
+            
+            CLBChromosome best = codec.read(in);
+            List<CLBChromosome> population = codec.readAll(in);
+            
+            return new Checkpoint(generation, evaluations, seed, randomSeed, islandSeeds, numOfClbs, clbInputs,
+                    numOfVariables, feedForward, levelsBack, best,
+                    population.toArray(new CLBChromosome[population.size()]));
+        }
+    }
+    
+    public int getGeneration() {
+        return generation;
+    }
+    
+    public long getEvaluations() {
+        return evaluations;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+    
+    public long[] getIslandSeeds() {
+        return islandSeeds;
+    }
+    
+    public int getNumOfClbs() {
+        return numOfClbs;
+    }
+    
+    public int getClbInputs() {
+        return clbInputs;
+    }
+    
+    public int getNumOfVariables() {
+        return numOfVariables;
+    }
+    
+    public boolean isFeedForward() {
+        return feedForward;
+    }
+    
+    public int getLevelsBack() {
+        return levelsBack;
+    }
+    
+    public CLBChromosome getBest() {
+        return best;
+    }
+    
+    public CLBChromosome[] getPopulation() {
+        return population;
+    }
+}
@@ -0,0 +1,103 @@
+package at.doml.fpgasolver.checkpoint;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import at.doml.fpgasolver.checkpoint.exceptions.CheckpointException;
+import at.doml.fpgasolver.solver.ChromosomeCodec;
+
+public class CheckpointWriter {
+    
+    private Future<?> pending;
+    private ExecutorService executor;
+    private final Path file;
+    private final ChromosomeCodec codec;
+    private final int generationInterval;
+    private final long timeInterval;
+    
+    public CheckpointWriter(Path file, ChromosomeCodec codec, int generationInterval, long timeInterval) {
+        if (generationInterval < 0 || timeInterval < 0L) {
+            throw new IllegalArgumentException("Checkpoint intervals cannot be negative.");
+        }
+        
+        this.file = file;
+        this.codec = codec;
+        this.generationInterval = generationInterval;
+        this.timeInterval = timeInterval;
+    }
+    
+    public void start() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "checkpoint-writer");
+                
+                thread.setDaemon(true);
+                
+                return thread;
+            });
+        }
+    }
+    
+    public boolean isDue(int generations, long millis) {
+        return generationInterval > 0 && generations >= generationInterval
+                || timeInterval > 0L && millis >= timeInterval;
+    }
+    
+    public boolean isBusy() {
+        if (pending == null) {
+            return false;
+        }
+        
+        if (!pending.isDone()) {
+            return true;
+        }
+        
+        awaitPending();
+        
+        return false;
+    }
+    
+    public void submit(Checkpoint checkpoint) {
+        if (executor == null) {
+            throw new CheckpointException("Checkpoint writer was not started.");
+        }
+        
+        pending = executor.submit(() -> {
+            try {
+                checkpoint.write(file, codec);
+            } catch (IOException e) {
+                throw new CheckpointException("Unable to write checkpoint: " + file, e);
+            }
+        });
+    }
+    
+    public void shutdown() {
+        if (executor != null) {
+            try {
+                awaitPending();
+            } finally {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+    
+    private void awaitPending() {
+        if (pending == null) {
+            return;
+        }
+        
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new CheckpointException("Checkpoint write has failed.", e.getCause());
+        } finally {
+            pending = null;
+        }
+    }
+}
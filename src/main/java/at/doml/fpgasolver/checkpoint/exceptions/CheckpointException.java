@@ -0,0 +1,14 @@
+package at.doml.fpgasolver.checkpoint.exceptions;
+
+public class CheckpointException extends RuntimeException {
+    
+    private static final long serialVersionUID = 7126053327785148091L;
+    
+    public CheckpointException(String message) {
+        super(message);
+    }
+    
+    public CheckpointException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
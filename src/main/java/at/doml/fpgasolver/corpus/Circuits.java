@@ -0,0 +1,178 @@
+package at.doml.fpgasolver.corpus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Circuits {
+    
+    private Circuits() {}
+    
+    public static List<String> adder(int bits) {
+        checkSize("adder", bits, 1);
+        
+        List<String> lines = new ArrayList<>();
+        String carry = null;
+        
+        for (int i = 0; i < bits; i++) {
+            String a = "a" + i;
+            String b = "b" + i;
+            String sum = carry == null ? xor(a, b) : xor(xor(a, b), carry);
+            
+            lines.add(function("s" + i, sum));
+            carry = carry == null ? and(a, b) : or(and(a, b), and(carry, xor(a, b)));
+        }
+        
+        lines.add(function("cout", carry));
+        
+        return lines;
+    }
+    
+    public static List<String> comparator(int bits) {
+        checkSize("comparator", bits, 1);
+        
+        String equal = null;
+        String greater = null;
+        String less = null;
+        
+        for (int i = 0; i < bits; i++) {
+            String a = "a" + i;
+            String b = "b" + i;
+            String bitGreater = and(a, not(b));
+            String bitLess = and(not(a), b);
+            String bitEqual = xnor(a, b);
+            
+            greater = greater == null ? bitGreater : or(bitGreater, and(bitEqual, greater));
+            less = less == null ? bitLess : or(bitLess, and(bitEqual, less));
+            equal = equal == null ? bitEqual : and(bitEqual, equal);
+        }
+        
+        List<String> lines = new ArrayList<>();
+        
+        lines.add(function("gt", greater));
+        lines.add(function("eq", equal));
+        lines.add(function("lt", less));
+        
+        return lines;
+    }
+    
+    public static List<String> multiplexer(int selectBits) {
+        checkSize("multiplexer", selectBits, 1);
+        
+        String output = null;
+        
+        for (int i = 0; i < 1 << selectBits; i++) {
+            String term = and("d" + i, minterm("s", selectBits, i));
+            
+            output = output == null ? term : or(output, term);
+        }
+        
+        List<String> lines = new ArrayList<>();
+        
+        lines.add(function("y", output));
+        
+        return lines;
+    }
+    
+    public static List<String> parity(int bits) {
+        checkSize("parity", bits, 2);
+        
+        String output = "x0";
+        
+        for (int i = 1; i < bits; i++) {
+            output = xor(output, "x" + i);
+        }
+        
+        List<String> lines = new ArrayList<>();
+        
+        lines.add(function("p", output));
+        
+        return lines;
+    }
+    
+    public static List<String> majority(int bits) {
+        checkSize("majority", bits, 3);
+        
+        if (bits % 2 == 0) {
+            throw new IllegalArgumentException("Majority function requires an odd number of inputs.");
+        }
+        
+        int threshold = bits / 2 + 1;
+        String output = null;
+        
+        for (int subset = 0; subset < 1 << bits; subset++) {
+            if (Integer.bitCount(subset) != threshold) {
+                continue;
+            }
+            
+            String term = null;
+            
+            for (int i = 0; i < bits; i++) {
+                if ((subset & (1 << i)) != 0) {
+                    term = term == null ? "x" + i : and(term, "x" + i);
+                }
+            }
+            
+            output = output == null ? term : or(output, term);
+        }
+        
+        List<String> lines = new ArrayList<>();
+        
+        lines.add(function("m", output));
+        
+        return lines;
+    }
+    
+    public static List<String> decoder(int bits) {
+        checkSize("decoder", bits, 1);
+        
+        List<String> lines = new ArrayList<>();
+        
+        for (int i = 0; i < 1 << bits; i++) {
+            lines.add(function("y" + i, minterm("x", bits, i)));
+        }
+        
+        return lines;
+    }
+    
+    private static String minterm(String prefix, int bits, int value) {
+        String term = null;
+        
+        for (int i = 0; i < bits; i++) {
+            String literal = (value & (1 << i)) != 0 ? prefix + i : not(prefix + i);
+            
+            term = term == null ? literal : and(term, literal);
+        }
+        
+        return term;
+    }
+    
+    private static void checkSize(String circuit, int size, int minimum) {
+        if (size < minimum) {
+            throw new IllegalArgumentException("Size of " + circuit + " must be at least " + minimum + ".");
+        }
+    }
+    
+    private static String function(String name, String expression) {
+        return name + " <= " + expression + ";";
+    }
+    
+    private static String and(String left, String right) {
+        return "(" + left + " and " + right + ")";
+    }
+    
+    private static String or(String left, String right) {
+        return "(" + left + " or " + right + ")";
+    }
+    
+    private static String xor(String left, String right) {
+        return "(" + left + " xor " + right + ")";
+    }
+    
+    private static String xnor(String left, String right) {
+        return "(" + left + " xnor " + right + ")";
+    }
+    
+    private static String not(String expression) {
+        return "not " + expression;
+    }
+}
@@ -0,0 +1,62 @@
+package at.doml.fpgasolver.corpus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+public class CorpusGenerator {
+    
+    public static final String MANIFEST = "corpus.csv";
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: CorpusGenerator <output directory>");
+            System.exit(-1);
+        }
+        
+        Path directory = Paths.get(args[0]);
+        List<String> manifest = new ArrayList<>();
+        
+        Files.createDirectories(directory);
+        manifest.add("circuit,file,clbs,inputs");
+        
+        for (int bits = 1; bits <= 3; bits++) {
+            write(directory, manifest, "adder", bits, Circuits::adder, 2 * bits + 2, 3);
+        }
+        
+        for (int bits = 1; bits <= 3; bits++) {
+            write(directory, manifest, "comparator", bits, Circuits::comparator, 3 * bits + 2, 3);
+        }
+        
+        for (int bits = 1; bits <= 2; bits++) {
+            write(directory, manifest, "multiplexer", bits, Circuits::multiplexer, (1 << bits) + 2, 3);
+        }
+        
+        for (int bits = 3; bits <= 6; bits++) {
+            write(directory, manifest, "parity", bits, Circuits::parity, bits, 3);
+        }
+        
+        for (int bits = 3; bits <= 5; bits += 2) {
+            write(directory, manifest, "majority", bits, Circuits::majority, 2 * bits, 3);
+        }
+        
+        for (int bits = 2; bits <= 3; bits++) {
+            write(directory, manifest, "decoder", bits, Circuits::decoder, (1 << bits) * (bits - 1) + 2, 3);
+        }
+        
+        Files.write(directory.resolve(MANIFEST), manifest);
+    }
+    
+    private static void write(Path directory, List<String> manifest, String family, int size,
+            IntFunction<List<String>> generator, int clbs, int inputs) throws IOException {
+        String name = family + "-" + size;
+        String file = name + ".txt";
+        
+        Files.write(directory.resolve(file), generator.apply(size));
+        manifest.add(name + "," + file + "," + clbs + "," + inputs);
+    }
+}
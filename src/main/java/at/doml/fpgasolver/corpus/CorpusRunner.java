@@ -0,0 +1,121 @@
+package at.doml.fpgasolver.corpus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import at.doml.fpgasolver.execution.SequentialBackend;
+import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.parsing.lexical.LexicalAnalyser;
+import at.doml.fpgasolver.parsing.syntax.SyntaxAnalyser;
+import at.doml.fpgasolver.solver.CLBChromosome;
+import at.doml.fpgasolver.solver.Evaluator;
+import at.doml.fpgasolver.solver.FPGAGeneticAlgorithm;
+
+public class CorpusRunner {
+    
+    private static final double[] PERCENTILES = { 0.5, 0.9, 0.95 };
+    
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        if (args.length < 1) {
+            System.err.println("Usage: CorpusRunner <corpus directory> [seeds] [threads] [generations] [popSize]");
+            System.exit(-1);
+        }
+        
+        Path directory = Paths.get(args[0]);
+        int seeds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int generations = args.length > 3 ? Integer.parseInt(args[3]) : 10000;
+        int popSize = args.length > 4 ? Integer.parseInt(args[4]) : 50;
+        
+        List<String> manifest = Files.readAllLines(directory.resolve(CorpusGenerator.MANIFEST));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        System.out.println("circuit,clbs,inputs,runs,solved,medianMillis,p90Millis,p95Millis,"
+                + "medianEvaluations,p90Evaluations,p95Evaluations");
+        
+        try {
+            for (String entry : manifest.subList(1, manifest.size())) {
+                String[] fields = entry.split(",");
+                int clbs = Integer.parseInt(fields[2]);
+                int inputs = Integer.parseInt(fields[3]);
+                
+                List<FunctionExpression> functions = new SyntaxAnalyser(new LexicalAnalyser(
+                        Files.readAllLines(directory.resolve(fields[1]))).getLexicalUnits()).parseTokens();
+                Evaluator evaluator = new Evaluator(functions.toArray(new FunctionExpression[functions.size()]));
+                List<Future<double[]>> runs = new ArrayList<>(seeds);
+                
+                for (int seed = 1; seed <= seeds; seed++) {
+                    long runSeed = seed;
+                    
+                    runs.add(executor.submit(() -> run(evaluator, clbs, inputs, generations, popSize, runSeed)));
+                }
+                
+                double[] millis = new double[seeds];
+                double[] evaluations = new double[seeds];
+                int solved = 0;
+                
+                for (int i = 0; i < seeds; i++) {
+                    double[] result = runs.get(i).get();
+                    
+                    millis[i] = result[0];
+                    evaluations[i] = result[1];
+                    
+                    if (!Double.isInfinite(result[0])) {
+                        solved++;
+                    }
+                }
+                
+                StringBuilder line = new StringBuilder();
+                
+                line.append(fields[0]).append(',').append(clbs).append(',').append(inputs).append(',')
+                        .append(seeds).append(',').append(solved);
+                appendPercentiles(line, millis);
+                appendPercentiles(line, evaluations);
+                
+                System.out.println(line);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private static double[] run(Evaluator evaluator, int clbs, int inputs, int generations, int popSize, long seed) {
+        FPGAGeneticAlgorithm algorithm = FPGAGeneticAlgorithm.builder()
+                .popSize(popSize)
+                .numOfClbs(clbs)
+                .clbInputs(inputs)
+                .maxGenerations(generations)
+                .firstAcceptable(true)
+                .seed(seed)
+                .backend(new SequentialBackend())
+                .evaluator(evaluator)
+                .build();
+        CLBChromosome solution = algorithm.findSolution();
+        
+        if (solution.getError() != 0) {
+            return new double[] { Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY };
+        }
+        
+        return new double[] { algorithm.getTotalTime(), algorithm.getExecutedEvaluations() };
+    }
+    
+    private static void appendPercentiles(StringBuilder line, double[] values) {
+        double[] sorted = values.clone();
+        
+        Arrays.sort(sorted);
+        
+        for (double percentile : PERCENTILES) {
+            double value = sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+            
+            line.append(',').append(Double.isInfinite(value) ? "inf" : Long.toString((long) value));
+        }
+    }
+}
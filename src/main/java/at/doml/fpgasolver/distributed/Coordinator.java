@@ -0,0 +1,301 @@
+package at.doml.fpgasolver.distributed;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import at.doml.fpgasolver.distributed.exceptions.DistributedException;
+import at.doml.fpgasolver.distributed.interfaces.IMigrationChannel;
+import at.doml.fpgasolver.solver.CLBChromosome;
+import at.doml.fpgasolver.solver.ChromosomeCodec;
+
+public class Coordinator implements IMigrationChannel {
+    
+    private static final long CLOSE_TIMEOUT = 5000L;
+    
+    private volatile boolean stopped;
+    private volatile boolean closing;
+    private final boolean stopOnSolution;
+    private final ChromosomeCodec codec;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final List<Peer> peers;
+    private final Queue<CLBChromosome> inbox;
+    private final AtomicReference<CLBChromosome> globalBest;
+    private final Thread selectorThread;
+    
+    public Coordinator(int port, ChromosomeCodec codec, boolean stopOnSolution) throws IOException {
+        this.codec = codec;
+        this.stopOnSolution = stopOnSolution;
+        
+        peers = new ArrayList<>();
+        inbox = new ConcurrentLinkedQueue<>();
+        globalBest = new AtomicReference<>();
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        selectorThread = new Thread(this::selectLoop, "migration-coordinator");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+    
+    private void selectLoop() {
+        try {
+            while (!closing || hasPendingWrites()) {
+                updateInterests();
+                selector.select(CLOSE_TIMEOUT);
+                
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    
+                    keys.remove();
+                    
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Peer peer = (Peer) key.attachment();
+                        
+                        try {
+                            if (key.isReadable()) {
+                                readMessages(peer);
+                            }
+                            
+                            if (key.isValid() && key.isWritable()) {
+                                peer.flush();
+                            }
+                        } catch (IOException | RuntimeException e) {
+                            disconnect(peer);
+                        }
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            stopped = true;
+        }
+    }
+    
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        
+        if (channel == null) {
+            return;
+        }
+        
+        channel.configureBlocking(false);
+        
+        Peer peer = new Peer(channel);
+        
+        peer.key = channel.register(selector, SelectionKey.OP_READ, peer);
+        
+        synchronized (peers) {
+            peers.add(peer);
+            
+            if (stopped) {
+                peer.enqueue(Protocol.frame(Protocol.STOP, new byte[0]));
+            }
+        }
+    }
+    
+    private void readMessages(Peer peer) throws IOException {
+        while (peer.reader.read(peer.channel)) {
+            byte type = peer.reader.getType();
+            byte[] payload = peer.reader.takePayload();
+            
+            if (type == Protocol.MIGRANTS) {
+                updateBest(codec.decode(payload));
+                forward(peer, payload);
+            }
+        }
+    }
+    
+    private void forward(Peer source, byte[] payload) throws IOException {
+        synchronized (peers) {
+            int target = source == null ? 0 : peers.indexOf(source) + 1;
+            
+            if (target < peers.size()) {
+                peers.get(target).enqueue(Protocol.frame(Protocol.MIGRANTS, payload));
+            } else if (source != null) {
+                inbox.addAll(codec.decode(payload));
+            }
+        }
+    }
+    
+    private void updateBest(List<CLBChromosome> chromosomes) {
+        for (CLBChromosome chromosome : chromosomes) {
+            CLBChromosome best = globalBest.accumulateAndGet(chromosome,
+                    (current, candidate) -> current == null || candidate.compareTo(current) < 0 ? candidate : current);
+            
+            if (stopOnSolution && best.getError() == 0) {
+                broadcastStop();
+            }
+        }
+    }
+    
+    private void broadcastStop() {
+        synchronized (peers) {
+            if (stopped) {
+                return;
+            }
+            
+            stopped = true;
+            
+            for (Peer peer : peers) {
+                peer.enqueue(Protocol.frame(Protocol.STOP, new byte[0]));
+            }
+        }
+        
+        selector.wakeup();
+    }
+    
+    private void disconnect(Peer peer) {
+        synchronized (peers) {
+            peers.remove(peer);
+        }
+        
+        peer.key.cancel();
+        
+        try {
+            peer.channel.close();
+        } catch (IOException ignorable) {}
+    }
+    
+    private void updateInterests() {
+        synchronized (peers) {
+            for (Peer peer : peers) {
+                if (peer.key.isValid()) {
+                    peer.key.interestOps(peer.outbox.isEmpty()
+                            ? SelectionKey.OP_READ
+                            : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            }
+        }
+    }
+    
+    private boolean hasPendingWrites() {
+        synchronized (peers) {
+            for (Peer peer : peers) {
+                if (!peer.outbox.isEmpty()) {
+                    return true;
+                }
+            }
+            
+            return false;
+        }
+    }
+    
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+    
+    @Override
+    public void send(List<CLBChromosome> emigrants) {
+        updateBest(emigrants);
+        
+        try {
+            forward(null, codec.encode(emigrants));
+        } catch (IOException e) {
+            throw new DistributedException("Unable to encode emigrants.", e);
+        }
+        
+        selector.wakeup();
+    }
+    
+    @Override
+    public List<CLBChromosome> receive() {
+        List<CLBChromosome> immigrants = new ArrayList<>();
+        CLBChromosome immigrant;
+        
+        while ((immigrant = inbox.poll()) != null) {
+            immigrants.add(immigrant);
+        }
+        
+        return immigrants;
+    }
+    
+    @Override
+    public CLBChromosome getGlobalBest() {
+        return globalBest.get();
+    }
+    
+    @Override
+    public boolean isStopped() {
+        return stopped;
+    }
+    
+    @Override
+    public void close() {
+        broadcastStop();
+        closing = true;
+        selector.wakeup();
+        
+        try {
+            selectorThread.join(CLOSE_TIMEOUT);
+            
+            synchronized (peers) {
+                for (Peer peer : peers) {
+                    peer.channel.close();
+                }
+                
+                peers.clear();
+            }
+            
+            server.close();
+            selector.close();
+        } catch (IOException e) {
+            throw new DistributedException("Unable to close coordinator connections.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static class Peer {
+        
+        private SelectionKey key;
+        private final SocketChannel channel;
+        private final MessageReader reader;
+        private final Queue<ByteBuffer> outbox;
+        
+        private Peer(SocketChannel channel) {
+            this.channel = channel;
+            
+            reader = new MessageReader();
+            outbox = new ConcurrentLinkedQueue<>();
+        }
+        
+        private void enqueue(ByteBuffer frame) {
+            outbox.add(frame);
+        }
+        
+        private void flush() throws IOException {
+            ByteBuffer frame;
+            
+            while ((frame = outbox.peek()) != null) {
+                channel.write(frame);
+                
+                if (frame.hasRemaining()) {
+                    return;
+                }
+                
+                outbox.poll();
+            }
+        }
+    }
+}
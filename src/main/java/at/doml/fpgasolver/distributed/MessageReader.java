@@ -0,0 +1,56 @@
+package at.doml.fpgasolver.distributed;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+public class MessageReader {
+    
+    private byte type;
+    private ByteBuffer payload;
+    private final ByteBuffer header = ByteBuffer.allocate(Protocol.HEADER_SIZE);
+    
+    public boolean read(ReadableByteChannel channel) throws IOException {
+        if (payload == null) {
+            if (channel.read(header) < 0) {
+                throw new EOFException();
+            }
+            
+            if (header.hasRemaining()) {
+                return false;
+            }
+            
+            header.flip();
+            
+            int length = header.getInt();
+            
+            type = header.get();
+            header.clear();
+            
+            if (length < 0 || length > Protocol.MAX_PAYLOAD_SIZE) {
+                throw new IOException("Invalid message length: " + length + ".");
+            }
+            
+            payload = ByteBuffer.allocate(length);
+        }
+        
+        if (payload.hasRemaining() && channel.read(payload) < 0) {
+            throw new EOFException();
+        }
+        
+        return !payload.hasRemaining();
+    }
+    
+    public byte getType() {
+        return type;
+    }
+    
+    public byte[] takePayload() {
+        byte[] bytes = payload.array();
+        
+        payload = null;
+        
+        return bytes;
+    }
+}
@@ -0,0 +1,24 @@
+package at.doml.fpgasolver.distributed;
+
+import java.nio.ByteBuffer;
+
+public final class Protocol {
+    
+    public static final byte MIGRANTS = 1;
+    public static final byte STOP = 2;
+    public static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+    public static final int MAX_PAYLOAD_SIZE = 64 << 20;
+    
+    private Protocol() {}
+    
+    public static ByteBuffer frame(byte type, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        
+        buffer.putInt(payload.length);
+        buffer.put(type);
+        buffer.put(payload);
+        buffer.flip();
+        
+        return buffer;
+    }
+}
@@ -0,0 +1,107 @@
+package at.doml.fpgasolver.distributed;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import at.doml.fpgasolver.distributed.exceptions.DistributedException;
+import at.doml.fpgasolver.distributed.interfaces.IMigrationChannel;
+import at.doml.fpgasolver.solver.CLBChromosome;
+import at.doml.fpgasolver.solver.ChromosomeCodec;
+
+public class Worker implements IMigrationChannel {
+    
+    private volatile boolean stopped;
+    private final ChromosomeCodec codec;
+    private final SocketChannel channel;
+    private final Queue<CLBChromosome> inbox;
+    private final Thread readerThread;
+    
+    public Worker(String host, int port, ChromosomeCodec codec) throws IOException {
+        this.codec = codec;
+        
+        inbox = new ConcurrentLinkedQueue<>();
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        readerThread = new Thread(this::readMessages, "migration-worker");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+    
+    private void readMessages() {
+        MessageReader reader = new MessageReader();
+        
+        try {
+            while (!stopped) {
+                while (!reader.read(channel)) {}
+                
+                byte type = reader.getType();
+                byte[] payload = reader.takePayload();
+                
+                if (type == Protocol.MIGRANTS) {
+                    inbox.addAll(codec.decode(payload));
+                } else if (type == Protocol.STOP) {
+                    stopped = true;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            stopped = true;
+        }
+    }
+    
+    @Override
+    public synchronized void send(List<CLBChromosome> emigrants) {
+        if (stopped) {
+            return;
+        }
+        
+        try {
+            ByteBuffer frame = Protocol.frame(Protocol.MIGRANTS, codec.encode(emigrants));
+            
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+        } catch (IOException e) {
+            stopped = true;
+        }
+    }
+    
+    @Override
+    public List<CLBChromosome> receive() {
+        List<CLBChromosome> immigrants = new ArrayList<>();
+        CLBChromosome immigrant;
+        
+        while ((immigrant = inbox.poll()) != null) {
+            immigrants.add(immigrant);
+        }
+        
+        return immigrants;
+    }
+    
+    @Override
+    public CLBChromosome getGlobalBest() {
+        return null;
+    }
+    
+    @Override
+    public boolean isStopped() {
+        return stopped;
+    }
+    
+    @Override
+    public void close() {
+        stopped = true;
+        
+        try {
+            channel.close();
+            readerThread.join();
+        } catch (IOException e) {
+            throw new DistributedException("Unable to close connection to the coordinator.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package at.doml.fpgasolver.distributed.exceptions;
+
+public class DistributedException extends RuntimeException {
+    
+    private static final long serialVersionUID = -4310598873405120297L;
+    
+    public DistributedException(String message) {
+        super(message);
+    }
+    
+    public DistributedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package at.doml.fpgasolver.distributed.interfaces;
+
+import java.util.List;
+import at.doml.fpgasolver.solver.CLBChromosome;
+
+public interface IMigrationChannel {
+    
+    public void send(List<CLBChromosome> emigrants);
+    
+    public List<CLBChromosome> receive();
+    
+    public CLBChromosome getGlobalBest();
+    
+    public boolean isStopped();
+    
+    public void close();
+}
@@ -0,0 +1,37 @@
+package at.doml.fpgasolver.execution;
+
+import java.util.function.IntFunction;
+import at.doml.fpgasolver.execution.interfaces.IExecutionBackend;
+
+public enum BackendType {
+    
+    FORK_JOIN("forkjoin", ForkJoinBackend::new),
+    THREAD_POOL("threadpool", ThreadPoolBackend::new),
+    SEQUENTIAL("sequential", parallelism -> new SequentialBackend());
+    
+    private final String name;
+    private final IntFunction<IExecutionBackend> factory;
+    
+    private BackendType(String name, IntFunction<IExecutionBackend> factory) {
+        this.name = name;
+        this.factory = factory;
+    }
+    
+    public IExecutionBackend create(int parallelism) {
+        return factory.apply(parallelism);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public static BackendType forName(String name) {
+        for (BackendType type : values()) {
+            if (type.name.equals(name)) {
+                return type;
+            }
+        }
+        
+        throw new IllegalArgumentException("Unknown execution backend: " + name);
+    }
+}
@@ -0,0 +1,84 @@
+package at.doml.fpgasolver.execution;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import at.doml.fpgasolver.execution.exceptions.ExecutionBackendException;
+import at.doml.fpgasolver.execution.interfaces.IExecutionBackend;
+
+public class ForkJoinBackend implements IExecutionBackend {
+    
+    private static final int BATCHES_PER_THREAD = 4;
+    
+    private ForkJoinPool pool;
+    private final int parallelism;
+    
+    public ForkJoinBackend(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be a natural number.");
+        }
+        
+        this.parallelism = parallelism;
+    }
+    
+    @Override
+    public void start() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+    }
+    
+    @Override
+    public void forEach(int size, IntConsumer task) {
+        if (pool == null) {
+            throw new ExecutionBackendException("Fork-join backend was not started.");
+        }
+        
+        int batchSize = Math.max(1, size / (parallelism * BATCHES_PER_THREAD));
+        
+        pool.invoke(new RangeAction(task, 0, size, batchSize));
+    }
+    
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    @Override
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+    
+    private static class RangeAction extends RecursiveAction {
+        
+        private static final long serialVersionUID = -6472960133869826403L;
+        
+        private final IntConsumer task;
+        private final int from;
+        private final int to;
+        private final int batchSize;
+        
+        private RangeAction(IntConsumer task, int from, int to, int batchSize) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                for (int i = from; i < to; i++) {
+                    task.accept(i);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                
+                invokeAll(new RangeAction(task, from, middle, batchSize), new RangeAction(task, middle, to, batchSize));
+            }
+        }
+    }
+}
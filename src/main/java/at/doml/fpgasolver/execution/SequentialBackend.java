@@ -0,0 +1,25 @@
+package at.doml.fpgasolver.execution;
+
+import java.util.function.IntConsumer;
+import at.doml.fpgasolver.execution.interfaces.IExecutionBackend;
+
+public class SequentialBackend implements IExecutionBackend {
+    
+    @Override
+    public void start() {}
+    
+    @Override
+    public void forEach(int size, IntConsumer task) {
+        for (int i = 0; i < size; i++) {
+            task.accept(i);
+        }
+    }
+    
+    @Override
+    public int getParallelism() {
+        return 1;
+    }
+    
+    @Override
+    public void shutdown() {}
+}
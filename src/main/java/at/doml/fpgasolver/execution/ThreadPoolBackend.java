@@ -0,0 +1,71 @@
+package at.doml.fpgasolver.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import at.doml.fpgasolver.execution.exceptions.ExecutionBackendException;
+import at.doml.fpgasolver.execution.interfaces.IExecutionBackend;
+
+public class ThreadPoolBackend implements IExecutionBackend {
+    
+    private ExecutorService executor;
+    private final int parallelism;
+    
+    public ThreadPoolBackend(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be a natural number.");
+        }
+        
+        this.parallelism = parallelism;
+    }
+    
+    @Override
+    public void start() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(parallelism);
+        }
+    }
+    
+    @Override
+    public void forEach(int size, IntConsumer task) {
+        if (executor == null) {
+            throw new ExecutionBackendException("Thread pool backend was not started.");
+        }
+        
+        List<Future<?>> futures = new ArrayList<>(size);
+        
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            
+            futures.add(executor.submit(() -> task.accept(index)));
+        }
+        
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionBackendException("Interrupted while waiting for tasks to finish.", e);
+        } catch (ExecutionException e) {
+            throw new ExecutionBackendException("Task has failed.", e.getCause());
+        }
+    }
+    
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    @Override
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package at.doml.fpgasolver.execution.exceptions;
+
+public class ExecutionBackendException extends RuntimeException {
+    
+    private static final long serialVersionUID = 2318469750238146713L;
+    
+    public ExecutionBackendException(String message) {
+        super(message);
+    }
+    
+    public ExecutionBackendException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
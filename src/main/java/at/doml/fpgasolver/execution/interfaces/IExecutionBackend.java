@@ -0,0 +1,14 @@
+package at.doml.fpgasolver.execution.interfaces;
+
+import java.util.function.IntConsumer;
+
+public interface IExecutionBackend {
+    
+    public void start();
+    
+    public void forEach(int size, IntConsumer task);
+    
+    public int getParallelism();
+    
+    public void shutdown();
+}
@@ -1,6 +1,7 @@
 package at.doml.fpgasolver.expressions;
 
 import at.doml.fpgasolver.expressions.abstracts.AbstractNamedExpression;
+import at.doml.fpgasolver.expressions.compiler.ExpressionCompiler;
 import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
 import java.util.SortedMap;
 import java.util.SortedSet;
@@ -20,6 +21,11 @@ public class FunctionExpression extends AbstractNamedExpression {
         return expression.evaluate(values);
     }
     
+    @Override
+    public int compile(ExpressionCompiler compiler) {
+        return expression.compile(compiler);
+    }
+    
     @Override
     public String toString() {
         return name + " <= " + expression.toString() + ";";
@@ -1,12 +1,15 @@
 package at.doml.fpgasolver.expressions;
 
 import at.doml.fpgasolver.expressions.abstracts.AbstractCompoundExpression;
+import at.doml.fpgasolver.expressions.compiler.ExpressionCompiler;
 import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
 import java.util.SortedMap;
 import java.util.SortedSet;
 
 public class NotExpression implements IBooleanExpression {
     
+    private static final boolean[] NOT_TABLE = { true, false };
+    
     private IBooleanExpression expression;
     
     public NotExpression(IBooleanExpression expression) {
@@ -18,6 +21,11 @@ public class NotExpression implements IBooleanExpression {
         return !expression.evaluate(values);
     }
     
+    @Override
+    public int compile(ExpressionCompiler compiler) {
+        return compiler.addLookupTable(NOT_TABLE, expression.compile(compiler));
+    }
+    
     @Override
     public SortedSet<String> getVariables() {
         return expression.getVariables();
@@ -1,5 +1,6 @@
 package at.doml.fpgasolver.expressions;
 
+import at.doml.fpgasolver.expressions.compiler.ExpressionCompiler;
 import at.doml.fpgasolver.expressions.exceptions.EvaluationException;
 import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
 import at.doml.fpgasolver.expressions.abstracts.AbstractNamedExpression;
@@ -23,6 +24,11 @@ public class VariableExpression extends AbstractNamedExpression {
         return value;
     }
     
+    @Override
+    public int compile(ExpressionCompiler compiler) {
+        return compiler.getVariableSlot(name);
+    }
+    
     @Override
     public String toString() {
         return name;
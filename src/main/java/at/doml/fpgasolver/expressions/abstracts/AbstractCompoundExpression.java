@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import at.doml.fpgasolver.expressions.compiler.ExpressionCompiler;
 import at.doml.fpgasolver.expressions.exceptions.EvaluationException;
 import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
 
@@ -40,6 +41,30 @@ public abstract class AbstractCompoundExpression implements IBooleanExpression {
         return result;
     }
     
+    @Override
+    public int compile(ExpressionCompiler compiler) {
+        if (expressions.size() == 0) {
+            throw new EvaluationException("Unable to compile an empty expression.");
+        }
+        
+        boolean[] table = new boolean[4];
+        
+        for (int i = 0; i < table.length; i++) {
+            boolean left = (i & 2) != 0;
+            boolean right = (i & 1) != 0;
+            
+            table[i] = canChange(left) ? binaryAction(left, right) : left;
+        }
+        
+        int result = expressions.get(0).compile(compiler);
+        
+        for (int i = 1, size = expressions.size(); i < size; i++) {
+            result = compiler.addLookupTable(table, result, expressions.get(i).compile(compiler));
+        }
+        
+        return result;
+    }
+    
     @Override
     public SortedSet<String> getVariables() {
         return IBooleanExpression.joinVariableSets(expressions.stream());
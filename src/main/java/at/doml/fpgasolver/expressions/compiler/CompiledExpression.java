@@ -0,0 +1,111 @@
+package at.doml.fpgasolver.expressions.compiler;
+
+public class CompiledExpression {
+    
+    private final int numOfVariables;
+    private final int numOfSlots;
+    private final int resultSlot;
+    private final int scratchSize;
+    private final int[] program;
+    private final long[] tables;
+    
+    CompiledExpression(int numOfVariables, int numOfSlots, int resultSlot, int maxArity, int[] program,
+            long[] tables) {
+        this.numOfVariables = numOfVariables;
+        this.numOfSlots = numOfSlots;
+        this.resultSlot = resultSlot;
+        this.scratchSize = 1 << maxArity;
+        this.program = program;
+        this.tables = tables;
+    }
+    
+    public boolean[] createSlots() {
+        return new boolean[numOfSlots];
+    }
+    
+    public long[] createWordSlots() {
+        return new long[getNumOfWordSlots()];
+    }
+    
+    public int getNumOfWordSlots() {
+        return numOfSlots + scratchSize;
+    }
+    
+    public boolean evaluate(int row, boolean[] slots) {
+        int mask = 1 << (numOfVariables - 1);
+        for (int i = 0; i < numOfVariables; i++) {
+            slots[i] = (row & mask) != 0;
+            mask >>>= 1;
+        }
+        
+        return evaluate(slots);
+    }
+    
+    public boolean evaluate(boolean[] slots) {
+        int slot = numOfVariables;
+        int pc = 0;
+        
+        while (pc < program.length) {
+            int arity = program[pc++];
+            int bit = program[pc++];
+            int index = 0;
+            
+            for (int i = 0; i < arity; i++) {
+                index = (index << 1) | (slots[program[pc++]] ? 1 : 0);
+            }
+            
+            bit += index;
+            slots[slot++] = (tables[bit >>> 6] & (1L << bit)) != 0L;
+        }
+        
+        return slots[resultSlot];
+    }
+    
+    public void evaluate(long[] slots) {
+        int slot = numOfVariables;
+        int pc = 0;
+        
+        while (pc < program.length) {
+            int arity = program[pc++];
+            int bit = program[pc++];
+            
+            slots[slot++] = applyLookupTable(slots, arity, bit, pc);
+            pc += arity;
+        }
+    }
+    
+    private long applyLookupTable(long[] slots, int arity, int tableBit, int firstInput) {
+        int size = 1 << arity;
+        int scratch = numOfSlots;
+        
+        for (int i = 0; i < size; i++) {
+            int bit = tableBit + i;
+            
+            slots[scratch + i] = (tables[bit >>> 6] & (1L << bit)) == 0L ? 0L : -1L;
+        }
+        
+        for (int input = firstInput + arity - 1; input >= firstInput; input--) {
+            long select = slots[program[input]];
+            
+            size >>>= 1;
+            
+            for (int i = 0; i < size; i++) {
+                slots[scratch + i] = (slots[scratch + 2 * i] & ~select) | (slots[scratch + 2 * i + 1] & select);
+            }
+        }
+        
+        return slots[scratch];
+    }
+    
+    public int getResultSlot() {
+        return resultSlot;
+    }
+    
+    public int getNumOfVariables() {
+        return numOfVariables;
+    }
+    
+    public int getNumOfSlots() {
+        return numOfSlots;
+    }
+}
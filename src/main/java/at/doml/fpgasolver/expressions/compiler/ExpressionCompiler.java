@@ -0,0 +1,132 @@
+package at.doml.fpgasolver.expressions.compiler;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import at.doml.fpgasolver.expressions.exceptions.EvaluationException;
+import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
+
+public class ExpressionCompiler {
+    
+    private int numOfInstructions;
+    private int programSize;
+    private int tableBits;
+    private int maxArity;
+    private int[] program;
+    private long[] tables;
+    private final int numOfVariables;
+    private final Map<String, Integer> variableSlots;
+    
+    public ExpressionCompiler(SortedSet<String> variables) {
+        numOfVariables = variables.size();
+        variableSlots = new HashMap<>();
+        program = new int[16];
+        tables = new long[1];
+        
+        for (String variable : variables) {
+            variableSlots.put(variable, variableSlots.size());
+        }
+    }
+    
+    public static CompiledExpression compile(IBooleanExpression expression, SortedSet<String> variables) {
+        ExpressionCompiler compiler = new ExpressionCompiler(variables);
+        int resultSlot = expression.compile(compiler);
+        
+        return compiler.build(resultSlot);
+    }
+    
+    public int getVariableSlot(String variable) {
+        Integer slot = variableSlots.get(variable);
+        
+        if (slot == null) {
+            throw new EvaluationException("Unable to compile a variable with name \"" + variable
+                    + "\" - no such variable exists in the set of provided variables.");
+        }
+        
+        return slot;
+    }
+    
+    public int addLookupTable(boolean[] table, int... inputs) {
+        if (table.length != 1 << inputs.length) {
+            throw new IllegalArgumentException("Lookup table with " + inputs.length + " inputs must have "
+                    + (1 << inputs.length) + " entries, but provided table has " + table.length + " entries.");
+        }
+        
+        addInstruction(inputs);
+        
+        for (boolean value : table) {
+            if (value) {
+                tables[tableBits >>> 6] |= 1L << tableBits;
+            }
+            
+            tableBits++;
+        }
+        
+        return numOfVariables + numOfInstructions++;
+    }
+    
+    public int addLookupTable(long[] table, int firstBit, int... inputs) {
+        addInstruction(inputs);
+        
+        for (int i = 0, size = 1 << inputs.length; i < size; i++) {
+            int bit = firstBit + i;
+            
+            if ((table[bit >>> 6] & (1L << bit)) != 0L) {
+                tables[tableBits >>> 6] |= 1L << tableBits;
+            }
+            
+            tableBits++;
+        }
+        
+        return numOfVariables + numOfInstructions++;
+    }
+    
+    private void addInstruction(int[] inputs) {
+        ensureProgramCapacity(programSize + inputs.length + 2);
+        ensureTableCapacity(tableBits + (1 << inputs.length));
+        
+        maxArity = Math.max(maxArity, inputs.length);
+        program[programSize++] = inputs.length;
+        program[programSize++] = tableBits;
+        
+        for (int input : inputs) {
+            if (input < 0 || input >= numOfVariables + numOfInstructions) {
+                throw new IllegalArgumentException("Lookup table input refers to an unknown slot: " + input);
+            }
+            
+            program[programSize++] = input;
+        }
+    }
+    
+    public void reset() {
+        Arrays.fill(tables, 0, (tableBits + Long.SIZE - 1) / Long.SIZE, 0L);
+        numOfInstructions = 0;
+        programSize = 0;
+        tableBits = 0;
+        maxArity = 0;
+    }
+    
+    public CompiledExpression build() {
+        return build(numOfVariables + numOfInstructions - 1);
+    }
+    
+    public CompiledExpression build(int resultSlot) {
+        return new CompiledExpression(numOfVariables, numOfVariables + numOfInstructions, resultSlot, maxArity,
+                Arrays.copyOf(program, programSize), Arrays.copyOf(tables, (tableBits + Long.SIZE - 1) / Long.SIZE));
+    }
+    
+    private void ensureProgramCapacity(int capacity) {
+        if (capacity > program.length) {
+            program = Arrays.copyOf(program, Math.max(capacity, 2 * program.length));
+        }
+    }
+    
+    private void ensureTableCapacity(int bits) {
+        int words = (bits + Long.SIZE - 1) / Long.SIZE;
+        
+        if (words > tables.length) {
+            tables = Arrays.copyOf(tables, Math.max(words, 2 * tables.length));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Stream;
+import at.doml.fpgasolver.expressions.compiler.ExpressionCompiler;
 
 public interface IBooleanExpression {
     
@@ -15,6 +16,8 @@ public interface IBooleanExpression {
     
     public String getName();
     
+    public int compile(ExpressionCompiler compiler);
+    
     public static SortedSet<String> joinVariableSets(Stream<? extends IBooleanExpression> stream) {
         return stream
                 .map(IBooleanExpression::getVariables)
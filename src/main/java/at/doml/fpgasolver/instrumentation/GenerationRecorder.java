@@ -0,0 +1,70 @@
+package at.doml.fpgasolver.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GenerationRecorder {
+    
+    private final LongAdder mutationNanos = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+    private final LongAdder selectionNanos = new LongAdder();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder skippedEvaluations = new LongAdder();
+    private final Map<String, LongAdder> threadAllocatedBytes = new ConcurrentHashMap<>();
+    private final com.sun.management.ThreadMXBean threads;
+    
+    public GenerationRecorder() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threads = (com.sun.management.ThreadMXBean) bean;
+            threads.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            threads = null;
+        }
+    }
+    
+    public long startTask() {
+        return threads == null ? 0L : threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    
+    public void endTask(long startAllocation, long mutation, long evaluation, long selection, int evaluated,
+            int skipped) {
+        mutationNanos.add(mutation);
+        evaluationNanos.add(evaluation);
+        selectionNanos.add(selection);
+        evaluations.add(evaluated);
+        skippedEvaluations.add(skipped);
+        
+        if (threads != null) {
+            Thread thread = Thread.currentThread();
+            long allocated = threads.getThreadAllocatedBytes(thread.getId()) - startAllocation;
+            
+            threadAllocatedBytes.computeIfAbsent(thread.getName(), name -> new LongAdder()).add(allocated);
+        }
+    }
+    
+    public GenerationStats finish(int generation, int generations, long wallNanos, long printNanos, int bestError,
+            int bestClbs, double averageError, double averageClbs, int threads) {
+        Map<String, Long> allocations = new TreeMap<>();
+        long allocatedBytes = 0L;
+        
+        for (Map.Entry<String, LongAdder> entry : threadAllocatedBytes.entrySet()) {
+            long bytes = entry.getValue().sumThenReset();
+            
+            if (bytes != 0L) {
+                allocations.put(entry.getKey(), bytes);
+                allocatedBytes += bytes;
+            }
+        }
+        
+        return new GenerationStats(generation, generations, wallNanos, mutationNanos.sumThenReset(),
+                evaluationNanos.sumThenReset(), selectionNanos.sumThenReset(), printNanos, evaluations.sumThenReset(),
+                skippedEvaluations.sumThenReset(), allocatedBytes, bestError, bestClbs, averageError, averageClbs,
+                threads, allocations);
+    }
+}
@@ -0,0 +1,169 @@
+package at.doml.fpgasolver.instrumentation;
+
+import java.util.Locale;
+import java.util.Map;
+
+public class GenerationStats {
+    
+    public static final String CSV_HEADER = "generation,generations,wallNanos,mutationNanos,evaluationNanos,"
+            + "selectionNanos,printNanos,evaluations,skippedEvaluations,evaluationsPerSecond,allocatedBytes,"
+            + "bestError,bestClbs,averageError,averageClbs,threads,threadUtilization";
+    
+    private final int generation;
+    private final int generations;
+    private final long wallNanos;
+    private final long mutationNanos;
+    private final long evaluationNanos;
+    private final long selectionNanos;
+    private final long printNanos;
+    private final long evaluations;
+    private final long skippedEvaluations;
+    private final long allocatedBytes;
+    private final int bestError;
+    private final int bestClbs;
+    private final double averageError;
+    private final double averageClbs;
+    private final int threads;
+    private final Map<String, Long> threadAllocatedBytes;
+    
+    public GenerationStats(int generation, int generations, long wallNanos, long mutationNanos, long evaluationNanos,
+            long selectionNanos, long printNanos, long evaluations, long skippedEvaluations, long allocatedBytes,
+            int bestError, int bestClbs, double averageError, double averageClbs, int threads,
+            Map<String, Long> threadAllocatedBytes) {
+        this.generation = generation;
+        this.generations = generations;
+        this.wallNanos = wallNanos;
+        this.mutationNanos = mutationNanos;
+        this.evaluationNanos = evaluationNanos;
+        this.selectionNanos = selectionNanos;
+        this.printNanos = printNanos;
+        this.evaluations = evaluations;
+        this.skippedEvaluations = skippedEvaluations;
+        this.allocatedBytes = allocatedBytes;
+        this.bestError = bestError;
+        this.bestClbs = bestClbs;
+        this.averageError = averageError;
+        this.averageClbs = averageClbs;
+        this.threads = threads;
+        this.threadAllocatedBytes = threadAllocatedBytes;
+    }
+    
+    public int getGeneration() {
+        return generation;
+    }
+    
+    public int getGenerations() {
+        return generations;
+    }
+    
+    public long getWallNanos() {
+        return wallNanos;
+    }
+    
+    public long getMutationNanos() {
+        return mutationNanos;
+    }
+    
+    public long getEvaluationNanos() {
+        return evaluationNanos;
+    }
+    
+    public long getSelectionNanos() {
+        return selectionNanos;
+    }
+    
+    public long getPrintNanos() {
+        return printNanos;
+    }
+    
+    public long getEvaluations() {
+        return evaluations;
+    }
+    
+    public long getSkippedEvaluations() {
+        return skippedEvaluations;
+    }
+    
+    public double getEvaluationsPerSecond() {
+        return wallNanos == 0L ? 0.0 : evaluations * 1e9 / wallNanos;
+    }
+    
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+    
+    public int getBestError() {
+        return bestError;
+    }
+    
+    public int getBestClbs() {
+        return bestClbs;
+    }
+    
+    public double getAverageError() {
+        return averageError;
+    }
+    
+    public double getAverageClbs() {
+        return averageClbs;
+    }
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    public double getThreadUtilization() {
+        long busyNanos = mutationNanos + evaluationNanos + selectionNanos;
+        
+        return wallNanos == 0L ? 0.0 : Math.min(1.0, (double) busyNanos / wallNanos / threads);
+    }
+    
+    public Map<String, Long> getThreadAllocatedBytes() {
+        return threadAllocatedBytes;
+    }
+    
+    public String toCsvRow() {
+        return generation + "," + generations + "," + wallNanos + "," + mutationNanos + "," + evaluationNanos + ","
+                + selectionNanos + "," + printNanos + "," + evaluations + "," + skippedEvaluations + ","
+                + String.format(Locale.ROOT, "%.1f", getEvaluationsPerSecond()) + "," + allocatedBytes + ","
+                + bestError + "," + bestClbs + "," + averageError + "," + averageClbs + "," + threads + ","
+                + String.format(Locale.ROOT, "%.3f", getThreadUtilization());
+    }
+    
+    public String toJson() {
+        StringBuilder builder = new StringBuilder();
+        
+        builder.append("{\"generation\":").append(generation)
+                .append(",\"generations\":").append(generations)
+                .append(",\"wallNanos\":").append(wallNanos)
+                .append(",\"mutationNanos\":").append(mutationNanos)
+                .append(",\"evaluationNanos\":").append(evaluationNanos)
+                .append(",\"selectionNanos\":").append(selectionNanos)
+                .append(",\"printNanos\":").append(printNanos)
+                .append(",\"evaluations\":").append(evaluations)
+                .append(",\"skippedEvaluations\":").append(skippedEvaluations)
+                .append(",\"evaluationsPerSecond\":").append(String.format(Locale.ROOT, "%.1f", getEvaluationsPerSecond()))
+                .append(",\"allocatedBytes\":").append(allocatedBytes)
+                .append(",\"bestError\":").append(bestError)
+                .append(",\"bestClbs\":").append(bestClbs)
+                .append(",\"averageError\":").append(averageError)
+                .append(",\"averageClbs\":").append(averageClbs)
+                .append(",\"threads\":").append(threads)
+                .append(",\"threadUtilization\":").append(String.format(Locale.ROOT, "%.3f", getThreadUtilization()))
+                .append(",\"threadAllocatedBytes\":{");
+        
+        boolean first = true;
+        
+        for (Map.Entry<String, Long> entry : threadAllocatedBytes.entrySet()) {
+            if (!first) {
+                builder.append(',');
+            }
+            
+            builder.append('"').append(entry.getKey().replace("\\", "\\\\").replace("\"", "\\\"")).append("\":")
+                    .append(entry.getValue());
+            first = false;
+        }
+        
+        return builder.append("}}").toString();
+    }
+}
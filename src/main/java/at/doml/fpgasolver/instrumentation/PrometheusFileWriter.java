@@ -0,0 +1,113 @@
+package at.doml.fpgasolver.instrumentation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import at.doml.fpgasolver.instrumentation.exceptions.InstrumentationException;
+
+public class PrometheusFileWriter {
+    
+    private static final String PREFIX = "fpga_solver_";
+    
+    private ScheduledExecutorService executor;
+    private final Path file;
+    private final long intervalMillis;
+    private final SolverMetrics metrics;
+    
+    public PrometheusFileWriter(Path file, long intervalMillis, SolverMetrics metrics) {
+        if (intervalMillis <= 0L) {
+            throw new IllegalArgumentException("Interval must be positive.");
+        }
+        
+        this.file = file;
+        this.intervalMillis = intervalMillis;
+        this.metrics = metrics;
+    }
+    
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prometheus-writer");
+            
+            thread.setDaemon(true);
+            
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::writeQuietly, 0L, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        
+        executor.shutdown();
+        
+        try {
+            executor.awaitTermination(intervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        executor = null;
+        write();
+    }
+    
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (InstrumentationException ignorable) {}
+    }
+    
+    public void write() {
+        StringBuilder builder = new StringBuilder();
+        
+        appendMetric(builder, "generation", "gauge", "Last completed generation.", metrics.getGeneration());
+        appendMetric(builder, "best_error", "gauge", "Error of the best chromosome.", metrics.getBestError());
+        appendMetric(builder, "best_clbs", "gauge", "Number of CLBs used by the best chromosome.",
+                metrics.getBestClbs());
+        appendMetric(builder, "average_error", "gauge", "Average error of the population.",
+                metrics.getAverageError());
+        appendMetric(builder, "average_clbs", "gauge", "Average number of CLBs used by the population.",
+                metrics.getAverageClbs());
+        appendMetric(builder, "evaluations_per_second", "gauge", "Chromosome evaluations per second.",
+                metrics.getEvaluationsPerSecond());
+        appendMetric(builder, "evaluations_total", "counter", "Total number of chromosome evaluations.",
+                metrics.getTotalEvaluations());
+        appendMetric(builder, "thread_utilization", "gauge", "Share of worker time spent producing children.",
+                metrics.getThreadUtilization());
+        appendMetric(builder, "heap_used_bytes", "gauge", "Used heap memory.", metrics.getHeapUsedBytes());
+        appendMetric(builder, "heap_committed_bytes", "gauge", "Committed heap memory.",
+                metrics.getHeapCommittedBytes());
+        appendMetric(builder, "heap_max_bytes", "gauge", "Maximum heap memory.", metrics.getHeapMaxBytes());
+        
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        
+        try {
+            Files.write(temporary, builder.toString().getBytes(StandardCharsets.UTF_8));
+            
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new InstrumentationException("Unable to write metrics file: " + file, e);
+        }
+    }
+    
+    private static void appendMetric(StringBuilder builder, String name, String type, String help, Number value) {
+        builder.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+        builder.append(PREFIX).append(name).append(' ').append(value).append('\n');
+    }
+}
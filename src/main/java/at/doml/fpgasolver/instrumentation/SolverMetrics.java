@@ -0,0 +1,123 @@
+package at.doml.fpgasolver.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import at.doml.fpgasolver.instrumentation.exceptions.InstrumentationException;
+import at.doml.fpgasolver.instrumentation.interfaces.IGenerationListener;
+
+public class SolverMetrics implements SolverMetricsMBean, IGenerationListener {
+    
+    public static final String OBJECT_NAME = "at.doml.fpgasolver:type=SolverMetrics";
+    
+    private volatile int generation;
+    private volatile int bestError;
+    private volatile int bestClbs;
+    private volatile double averageError;
+    private volatile double averageClbs;
+    private volatile double evaluationsPerSecond;
+    private volatile double threadUtilization;
+    private ObjectName registeredName;
+    private final AtomicLong totalEvaluations = new AtomicLong();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    
+    @Override
+    public void generationCompleted(GenerationStats stats) {
+        totalEvaluations.addAndGet(stats.getEvaluations());
+        
+        generation = stats.getGeneration();
+        bestError = stats.getBestError();
+        bestClbs = stats.getBestClbs();
+        averageError = stats.getAverageError();
+        averageClbs = stats.getAverageClbs();
+        evaluationsPerSecond = stats.getEvaluationsPerSecond();
+        threadUtilization = stats.getThreadUtilization();
+    }
+    
+    public synchronized void register() {
+        if (registeredName != null) {
+            return;
+        }
+        
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            
+            server.registerMBean(this, name);
+            registeredName = name;
+        } catch (JMException e) {
+            throw new InstrumentationException("Unable to register solver metrics MBean.", e);
+        }
+    }
+    
+    public synchronized void unregister() {
+        if (registeredName == null) {
+            return;
+        }
+        
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+            registeredName = null;
+        } catch (JMException e) {
+            throw new InstrumentationException("Unable to unregister solver metrics MBean.", e);
+        }
+    }
+    
+    @Override
+    public int getGeneration() {
+        return generation;
+    }
+    
+    @Override
+    public int getBestError() {
+        return bestError;
+    }
+    
+    @Override
+    public int getBestClbs() {
+        return bestClbs;
+    }
+    
+    @Override
+    public double getAverageError() {
+        return averageError;
+    }
+    
+    @Override
+    public double getAverageClbs() {
+        return averageClbs;
+    }
+    
+    @Override
+    public double getEvaluationsPerSecond() {
+        return evaluationsPerSecond;
+    }
+    
+    @Override
+    public long getTotalEvaluations() {
+        return totalEvaluations.get();
+    }
+    
+    @Override
+    public double getThreadUtilization() {
+        return threadUtilization;
+    }
+    
+    @Override
+    public long getHeapUsedBytes() {
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+    
+    @Override
+    public long getHeapCommittedBytes() {
+        return memory.getHeapMemoryUsage().getCommitted();
+    }
+    
+    @Override
+    public long getHeapMaxBytes() {
+        return memory.getHeapMemoryUsage().getMax();
+    }
+}
@@ -0,0 +1,26 @@
+package at.doml.fpgasolver.instrumentation;
+
+public interface SolverMetricsMBean {
+    
+    public int getGeneration();
+    
+    public int getBestError();
+    
+    public int getBestClbs();
+    
+    public double getAverageError();
+    
+    public double getAverageClbs();
+    
+    public double getEvaluationsPerSecond();
+    
+    public long getTotalEvaluations();
+    
+    public double getThreadUtilization();
+    
+    public long getHeapUsedBytes();
+    
+    public long getHeapCommittedBytes();
+    
+    public long getHeapMaxBytes();
+}
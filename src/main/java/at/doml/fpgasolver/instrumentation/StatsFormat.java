@@ -0,0 +1,27 @@
+package at.doml.fpgasolver.instrumentation;
+
+public enum StatsFormat {
+    
+    CSV("csv"),
+    JSONL("jsonl");
+    
+    private final String name;
+    
+    private StatsFormat(String name) {
+        this.name = name;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public static StatsFormat forName(String name) {
+        for (StatsFormat format : values()) {
+            if (format.name.equals(name)) {
+                return format;
+            }
+        }
+        
+        throw new IllegalArgumentException("Unknown statistics format: " + name);
+    }
+}
@@ -0,0 +1,46 @@
+package at.doml.fpgasolver.instrumentation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import at.doml.fpgasolver.instrumentation.exceptions.InstrumentationException;
+import at.doml.fpgasolver.instrumentation.interfaces.IGenerationListener;
+
+public class StatsWriter implements IGenerationListener {
+    
+    private final StatsFormat format;
+    private final BufferedWriter writer;
+    
+    public StatsWriter(Path file, StatsFormat format) throws IOException {
+        this.format = format;
+        
+        writer = Files.newBufferedWriter(file);
+        
+        if (format == StatsFormat.CSV) {
+            writer.write(GenerationStats.CSV_HEADER);
+            writer.newLine();
+        }
+        
+        writer.flush();
+    }
+    
+    @Override
+    public void generationCompleted(GenerationStats stats) {
+        try {
+            writer.write(format == StatsFormat.CSV ? stats.toCsvRow() : stats.toJson());
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new InstrumentationException("Unable to write generation statistics.", e);
+        }
+    }
+    
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new InstrumentationException("Unable to close generation statistics file.", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package at.doml.fpgasolver.instrumentation.exceptions;
+
+public class InstrumentationException extends RuntimeException {
+    
+    private static final long serialVersionUID = 3902716574019372148L;
+    
+    public InstrumentationException(String message) {
+        super(message);
+    }
+    
+    public InstrumentationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
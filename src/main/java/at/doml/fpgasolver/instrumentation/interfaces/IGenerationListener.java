@@ -0,0 +1,8 @@
+package at.doml.fpgasolver.instrumentation.interfaces;
+
+import at.doml.fpgasolver.instrumentation.GenerationStats;
+
+public interface IGenerationListener {
+    
+    public void generationCompleted(GenerationStats stats);
+}
@@ -1,5 +1,6 @@
 package at.doml.fpgasolver.logic;
 
+import at.doml.fpgasolver.expressions.compiler.ExpressionCompiler;
 import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
 import java.util.Arrays;
 import java.util.SortedMap;
@@ -30,6 +31,10 @@ public class ConfigurableLogicBlock implements IBooleanExpression {
         inputs[index] = value;
     }
     
+    public IBooleanExpression getInput(int index) {
+        return inputs[index];
+    }
+    
     public void setOutput(int index, boolean value) {
         outputs[index] = value;
     }
@@ -74,6 +79,21 @@ public class ConfigurableLogicBlock implements IBooleanExpression {
         return outputs[index];
     }
     
+    @Override
+    public int compile(ExpressionCompiler compiler) {
+        int[] inputSlots = new int[inputs.length];
+        
+        for (int i = 0; i < inputs.length; i++) {
+            inputSlots[i] = inputs[i].compile(compiler);
+        }
+        
+        return compile(compiler, inputSlots);
+    }
+    
+    public int compile(ExpressionCompiler compiler, int... inputSlots) {
+        return compiler.addLookupTable(outputs, inputSlots);
+    }
+    
     @Override
     public SortedSet<String> getVariables() {
         return IBooleanExpression.joinVariableSets(Stream.of(inputs));
@@ -1,61 +1,62 @@
 package at.doml.fpgasolver.logic;
 
+import at.doml.fpgasolver.expressions.compiler.CompiledExpression;
+import at.doml.fpgasolver.expressions.compiler.ExpressionCompiler;
 import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
 import at.doml.fpgasolver.logic.exceptions.TableRowComparisonException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.SortedMap;
+import java.util.Arrays;
 import java.util.SortedSet;
-import java.util.TreeMap;
 
 public class TruthTable {
     
+    private final int numOfRows;
+    private final long[] words;
     private final SortedSet<String> variables;
-    private final List<List<Boolean>> rows;
     
     public TruthTable(IBooleanExpression expression, SortedSet<String> variables) {
+        VariablePatterns patterns = new VariablePatterns(variables.size());
+        
         this.variables = variables;
         
-        rows = new ArrayList<>();
-        evaluateTable(expression);
+        numOfRows = patterns.getNumOfRows();
+        words = new long[patterns.getNumOfWords()];
+        evaluateTable(expression, patterns);
     }
     
-    private void evaluateTable(IBooleanExpression expression) {
-        int conbinations = (int) Math.pow(2.0, variables.size());
-        
-        SortedMap<String, Boolean> values = new TreeMap<>();
-        
-        variables.forEach(variable -> {
-            values.put(variable, Boolean.FALSE);
-        });
-        
-        evaluateRow(expression, values);
-        
-        for (int i = 1; i < conbinations; i++) {
-            setValues(i, values);
-            evaluateRow(expression, values);
+    private void evaluateTable(IBooleanExpression expression, VariablePatterns patterns) {
+        CompiledExpression program = ExpressionCompiler.compile(expression, variables);
+        int resultSlot = program.getResultSlot();
+        long[] slots = program.createWordSlots();
+        
+        for (int i = 0; i < words.length; i++) {
+            patterns.fill(slots, i);
+            program.evaluate(slots);
+            words[i] = slots[resultSlot] & patterns.getWordMask(i);
         }
     }
     
-    private void evaluateRow(IBooleanExpression expression, SortedMap<String, Boolean> values) {
-        List<Boolean> row = new ArrayList<>(values.values());
-        
-        row.add(expression.evaluate(values));
-        rows.add(row);
+    public long getWord(int index) {
+        return words[index];
     }
     
-    private static void setValues(int index, SortedMap<String, Boolean> values) {
-        int mask = 1 << (values.size() - 1);
-        for (Map.Entry<String, Boolean> entry : values.entrySet()) {
-            if ((index & mask) == 0) {
-                entry.setValue(Boolean.FALSE);
-            } else {
-                entry.setValue(Boolean.TRUE);
-            }
-            
-            mask >>>= 1;
-        }
+    public int getNumOfWords() {
+        return words.length;
+    }
+    
+    public boolean getValue(int row) {
+        return (words[row >>> 6] & (1L << row)) != 0L;
+    }
+    
+    private boolean getVariableValue(int row, int variableIndex) {
+        return (row & (1 << (variables.size() - variableIndex - 1))) != 0;
+    }
+    
+    public int getNumOfRows() {
+        return numOfRows;
+    }
+    
+    public SortedSet<String> getVariables() {
+        return variables;
     }
     
     @Override
@@ -92,10 +93,10 @@ public class TruthTable {
         
         builder.append("\n");
         
-        for (List<Boolean> row : rows) {
+        for (int row = 0; row < numOfRows; row++) {
             int index = 0;
             for (String variable : variables) {
-                boolean value = row.get(index);
+                boolean value = getVariableValue(row, index);
                 
                 if (value) {
                     appendSymbol(trueSymbol, Math.max(variable.length(), longerSymbolLength), builder);
@@ -108,7 +109,7 @@ public class TruthTable {
                 index++;
             }
             
-            if (row.get(index)) {
+            if (getValue(row)) {
                 appendSymbol(trueSymbol, Math.max(lastRowName.length(), longerSymbolLength), builder);
             } else {
                 appendSymbol(falseSymbol, Math.max(lastRowName.length(), longerSymbolLength), builder);
@@ -131,22 +132,14 @@ public class TruthTable {
     }
     
     public int countDifferentRows(TruthTable other) {
-        if (this.rows.size() != other.rows.size()) {
+        if (this.numOfRows != other.numOfRows) {
             throw new TableRowComparisonException("Unable to count different rows in truth tables of different size.");
         }
         
         int difference = 0;
         
-        for (int i = 0, size = rows.size(); i < size; i++) {
-            List<Boolean> thisRow = this.rows.get(i);
-            List<Boolean> otherRow = other.rows.get(i);
-            
-            boolean thisValue = thisRow.get(thisRow.size() - 1);
-            boolean otherValue = otherRow.get(otherRow.size() - 1);
-            
-            if (thisValue != otherValue) {
-                difference++;
-            }
+        for (int i = 0; i < words.length; i++) {
+            difference += Long.bitCount(this.words[i] ^ other.words[i]);
         }
         
         return difference;
@@ -157,7 +150,7 @@ public class TruthTable {
         final int prime = 31;
         int result = 1;
         
-        result = prime * result + ((rows == null) ? 0 : rows.hashCode());
+        result = prime * result + Arrays.hashCode(words);
         result = prime * result + ((variables == null) ? 0 : variables.hashCode());
         
         return result;
@@ -179,11 +172,7 @@ public class TruthTable {
         
         TruthTable other = (TruthTable) obj;
         
-        if (rows == null) {
-            if (other.rows != null) {
-                return false;
-            }
-        } else if (!rows.equals(other.rows)) {
+        if (!Arrays.equals(words, other.words)) {
             return false;
         }
         
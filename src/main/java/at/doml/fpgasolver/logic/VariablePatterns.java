@@ -0,0 +1,80 @@
+package at.doml.fpgasolver.logic;
+
+public class VariablePatterns {
+    
+    public static final int MAX_VARIABLES = 30;
+    private static final int WORD_BITS = 6;
+    private static final long[] WORD_PATTERNS = {
+            0xAAAAAAAAAAAAAAAAL,
+            0xCCCCCCCCCCCCCCCCL,
+            0xF0F0F0F0F0F0F0F0L,
+            0xFF00FF00FF00FF00L,
+            0xFFFF0000FFFF0000L,
+            0xFFFFFFFF00000000L
+    };
+    
+    private final int numOfVariables;
+    private final int numOfRows;
+    private final int numOfWords;
+    private final long lastWordMask;
+    private final long[] wordPatterns;
+    private final int[] wordShifts;
+    
+    public VariablePatterns(int numOfVariables) {
+        if (numOfVariables < 0 || numOfVariables > MAX_VARIABLES) {
+            throw new IllegalArgumentException("Number of variables must be between 0 and " + MAX_VARIABLES
+                    + ", but was: " + numOfVariables);
+        }
+        
+        this.numOfVariables = numOfVariables;
+        
+        numOfRows = 1 << numOfVariables;
+        numOfWords = (numOfRows + Long.SIZE - 1) / Long.SIZE;
+        lastWordMask = numOfRows < Long.SIZE ? (1L << numOfRows) - 1L : -1L;
+        wordPatterns = new long[numOfVariables];
+        wordShifts = new int[numOfVariables];
+        
+        for (int i = 0; i < numOfVariables; i++) {
+            int bit = numOfVariables - i - 1;
+            
+            if (bit < WORD_BITS) {
+                wordPatterns[i] = WORD_PATTERNS[bit];
+                wordShifts[i] = -1;
+            } else {
+                wordShifts[i] = bit - WORD_BITS;
+            }
+        }
+    }
+    
+    public long getPattern(int variable, int word) {
+        int shift = wordShifts[variable];
+        
+        if (shift < 0) {
+            return wordPatterns[variable];
+        } else {
+            return ((word >>> shift) & 1) == 0 ? 0L : -1L;
+        }
+    }
+    
+    public void fill(long[] slots, int word) {
+        for (int i = 0; i < numOfVariables; i++) {
+            slots[i] = getPattern(i, word);
+        }
+    }
+    
+    public long getWordMask(int word) {
+        return word == numOfWords - 1 ? lastWordMask : -1L;
+    }
+    
+    public int getNumOfVariables() {
+        return numOfVariables;
+    }
+    
+    public int getNumOfRows() {
+        return numOfRows;
+    }
+    
+    public int getNumOfWords() {
+        return numOfWords;
+    }
+}
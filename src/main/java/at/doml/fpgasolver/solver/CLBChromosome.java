@@ -1,128 +1,532 @@
 package at.doml.fpgasolver.solver;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
-import java.util.Set;
+import java.util.SplittableRandom;
 import at.doml.fpgasolver.logic.ConfigurableLogicBlock;
+import at.doml.fpgasolver.logic.VariablePatterns;
+import at.doml.fpgasolver.expressions.compiler.ExpressionCompiler;
 import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
 
 public class CLBChromosome implements Comparable<CLBChromosome> {
     
+    private static final long HASH_SEED = 0x9E3779B97F4A7C15L;
+    
     private int error;
     private int clbs;
+    private boolean rejected;
+    private boolean ownsConnections;
+    private DirectedGraph connections;
+    private long[][] blockTables;
+    private int[] outputErrors;
+    private int[] activeBlocks;
+    private final int numOfBlocks;
     private final int inputsPerBlock;
     private final int tableSize;
-    private final Random random;
-    private final DirectedGraph connections;
-    private final ConfigurableLogicBlock[] logicBlocks;
-    private final Set<Integer> taggedClbs;
+    private final int numOfVariables;
+    private final int levelsBack;
+    private final boolean feedForward;
+    private final int[] inputs;
+    private final long[] tables;
+    private final int[] outputs;
     private final List<IBooleanExpression> variables;
-    private final Map<Integer, CLBInputs> blockInputs;
-    private final Map<String, Integer> functionOutputs;
+    private final List<String> functionNames;
+    
+    public CLBChromosome(SplittableRandom random, int numOfLogicBlocks, int inputsPerBlock,
+            List<IBooleanExpression> variables, List<String> functionNames) {
+        this(random, numOfLogicBlocks, inputsPerBlock, variables, functionNames, false, 0);
+    }
     
-    public CLBChromosome(Random random, int numOfLogicBlocks, int inputsPerBlock, List<IBooleanExpression> variables,
-            Set<String> functionNames) {
-        this.random = random;
+    public CLBChromosome(SplittableRandom random, int numOfLogicBlocks, int inputsPerBlock,
+            List<IBooleanExpression> variables, List<String> functionNames, boolean feedForward, int levelsBack) {
         this.inputsPerBlock = inputsPerBlock;
         this.variables = variables;
+        this.functionNames = functionNames;
+        this.feedForward = feedForward;
+        this.levelsBack = levelsBack;
         
-        taggedClbs = new HashSet<>();
-        tableSize = (int) Math.pow(2.0, inputsPerBlock);
-        functionOutputs = new HashMap<>();
-        blockInputs = new HashMap<>();
-        connections = new DirectedGraph(numOfLogicBlocks);
-        logicBlocks = new ConfigurableLogicBlock[numOfLogicBlocks];
+        numOfBlocks = numOfLogicBlocks;
+        numOfVariables = variables.size();
+        tableSize = 1 << inputsPerBlock;
+        inputs = new int[numOfLogicBlocks * inputsPerBlock];
+        tables = new long[(numOfLogicBlocks * tableSize + Long.SIZE - 1) / Long.SIZE];
+        outputs = new int[functionNames.size()];
         
         for (int i = 0; i < numOfLogicBlocks; i++) {
-            logicBlocks[i] = new ConfigurableLogicBlock(inputsPerBlock);
-            logicBlocks[i].setName(Integer.toString(i + 1));
-            blockInputs.put(i, new CLBInputs(inputsPerBlock));
-            
             for (int j = 0; j < inputsPerBlock; j++) {
-                logicBlocks[i].setInput(j, randomVariable());
+                inputs[i * inputsPerBlock + j] = randomVariable(random);
             }
             
             for (int j = 0; j < tableSize; j++) {
-                logicBlocks[i].setOutput(j, random.nextBoolean());
+                if (random.nextBoolean()) {
+                    flipTableBit(i * tableSize + j);
+                }
             }
         }
         
-        functionNames.forEach(functionName -> {
-            functionOutputs.put(functionName, randomBlockIndex());
-        });
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = randomBlockIndex(random);
+        }
     }
     
     public CLBChromosome(CLBChromosome original) {
         this.error = original.error;
         this.clbs = original.clbs;
+        this.numOfBlocks = original.numOfBlocks;
         this.inputsPerBlock = original.inputsPerBlock;
         this.tableSize = original.tableSize;
-        this.random = original.random;
+        this.numOfVariables = original.numOfVariables;
+        this.feedForward = original.feedForward;
+        this.levelsBack = original.levelsBack;
         this.variables = original.variables;
-        this.taggedClbs = new HashSet<>();
-        this.connections = new DirectedGraph(original.logicBlocks.length);
-        this.functionOutputs = new HashMap<>(original.functionOutputs);
+        this.functionNames = original.functionNames;
+        this.connections = original.connections;
+        this.inputs = Arrays.copyOf(original.inputs, original.inputs.length);
+        this.tables = Arrays.copyOf(original.tables, original.tables.length);
+        this.outputs = Arrays.copyOf(original.outputs, original.outputs.length);
+        this.activeBlocks = original.activeBlocks;
         
-        this.logicBlocks = new ConfigurableLogicBlock[original.logicBlocks.length];
+        long[][] blockTables = original.blockTables;
+        int[] outputErrors = original.outputErrors;
         
-        for (int i = 0; i < this.logicBlocks.length; i++) {
-            this.logicBlocks[i] = new ConfigurableLogicBlock(original.logicBlocks[i]);
-            this.logicBlocks[i].setName(Integer.toString(i + 1));
+        if (blockTables != null) {
+            this.blockTables = blockTables.clone();
         }
         
-        this.blockInputs = new HashMap<>();
+        if (outputErrors != null) {
+            this.outputErrors = outputErrors.clone();
+        }
+    }
+    
+    CLBChromosome(DataInput in, ChromosomeCodec codec) throws IOException {
+        variables = codec.getVariables();
+        functionNames = codec.getFunctionNames();
+        numOfBlocks = in.readInt();
+        inputsPerBlock = in.readInt();
+        numOfVariables = variables.size();
+        
+        if (numOfBlocks <= 0 || inputsPerBlock <= 0 || inputsPerBlock >= Integer.SIZE) {
+            throw new IOException("Invalid chromosome dimensions: " + numOfBlocks + ", " + inputsPerBlock + ".");
+        }
         
-        original.blockInputs.forEach((key, value) -> {
-            this.blockInputs.put(key, new CLBInputs(value));
+        if (in.readInt() != numOfVariables || in.readInt() != functionNames.size()) {
+            throw new IOException("Chromosome was encoded for a different set of functions.");
+        }
+        
+        feedForward = in.readBoolean();
+        levelsBack = in.readInt();
+        codec.checkOptions(numOfBlocks, inputsPerBlock, numOfVariables, feedForward, levelsBack);
+        error = in.readInt();
+        clbs = in.readInt();
+        tableSize = 1 << inputsPerBlock;
+        inputs = new int[numOfBlocks * inputsPerBlock];
+        tables = new long[(numOfBlocks * tableSize + Long.SIZE - 1) / Long.SIZE];
+        outputs = new int[functionNames.size()];
+        
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = in.readInt();
             
-            for (int input : value.getInputs()) {
-                if (input != -1) {
-                    this.connections.connect(input, key);
-                }
+            if (inputs[i] < 0 || inputs[i] >= numOfVariables + numOfBlocks) {
+                throw new IOException("Invalid CLB input: " + inputs[i] + ".");
             }
-        });
+        }
+        
+        validateConnections();
+        
+        for (int i = 0; i < tables.length; i++) {
+            tables[i] = in.readLong();
+        }
+        
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = in.readInt();
+            
+            if (outputs[i] < 0 || outputs[i] >= numOfBlocks) {
+                throw new IOException("Invalid function output: " + outputs[i] + ".");
+            }
+        }
+    }
+    
+    private void validateConnections() throws IOException {
+        if (levelsBack < 0) {
+            throw new IOException("Invalid levels-back limit: " + levelsBack + ".");
+        }
+        
+        DirectedGraph graph = feedForward ? null : new DirectedGraph(numOfBlocks);
         
-        this.blockInputs.forEach((block, inputs) -> {
-            int[] blockInputs = inputs.getInputs();
-            for (int i = 0; i < blockInputs.length; i++) {
-                if (blockInputs[i] != -1) {
-                    this.logicBlocks[block].setInput(i, logicBlocks[blockInputs[i]]);
+        for (int i = 0; i < inputs.length; i++) {
+            if (!isBlockInput(inputs[i])) {
+                continue;
+            }
+            
+            int source = inputs[i] - numOfVariables;
+            int block = i / inputsPerBlock;
+            
+            if (feedForward) {
+                if (source >= block || levelsBack > 0 && source < block - levelsBack) {
+                    throw new IOException("Input of CLB " + block + " from CLB " + source
+                            + " breaks the feed-forward order.");
                 }
+            } else if (graph.wouldCreateCycle(source, block)) {
+                throw new IOException("Input of CLB " + block + " from CLB " + source + " creates a cycle.");
+            } else {
+                graph.connect(source, block);
             }
-        });
+        }
+        
+        connections = graph;
+        ownsConnections = graph != null;
+    }
+    
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(numOfBlocks);
+        out.writeInt(inputsPerBlock);
+        out.writeInt(numOfVariables);
+        out.writeInt(outputs.length);
+        out.writeBoolean(feedForward);
+        out.writeInt(levelsBack);
+        out.writeInt(error);
+        out.writeInt(clbs);
+        
+        for (int input : inputs) {
+            out.writeInt(input);
+        }
+        
+        for (long table : tables) {
+            out.writeLong(table);
+        }
+        
+        for (int output : outputs) {
+            out.writeInt(output);
+        }
     }
     
     public IBooleanExpression getFunctionOutput(String functionName) {
-        return logicBlocks[functionOutputs.get(functionName)];
+        return createLogicBlocks()[getFunctionOutputIndex(functionName)];
     }
     
-    public boolean mutate(double mutationChance) {
-        Set<Integer> mutatedBlocks = new HashSet<>();
+    public int getFunctionOutputIndex(String functionName) {
+        return outputs[functionNames.indexOf(functionName)];
+    }
+    
+    public int getFunctionOutputIndex(int function) {
+        return outputs[function];
+    }
+    
+    public int[] getActiveBlocks() {
+        if (activeBlocks == null) {
+            activeBlocks = feedForward ? getActiveBlocksInOrder() : getActiveBlocksInDepthOrder();
+        }
         
-        for (int i = 0; i < logicBlocks.length; i++) {
+        return activeBlocks;
+    }
+    
+    private int[] getActiveBlocksInDepthOrder() {
+        int size = 0;
+        int[] order = new int[numOfBlocks];
+        int[] stack = new int[numOfBlocks];
+        int[] nextInput = new int[numOfBlocks];
+        boolean[] visited = new boolean[numOfBlocks];
+        
+        for (int output : outputs) {
+            if (visited[output]) {
+                continue;
+            }
+            
+            int top = 0;
+            
+            stack[top] = output;
+            visited[output] = true;
+            
+            while (top >= 0) {
+                int block = stack[top];
+                
+                if (nextInput[block] < inputsPerBlock) {
+                    int input = inputs[block * inputsPerBlock + nextInput[block]++];
+                    
+                    if (isBlockInput(input) && !visited[input - numOfVariables]) {
+                        visited[input - numOfVariables] = true;
+                        stack[++top] = input - numOfVariables;
+                    }
+                } else {
+                    order[size++] = block;
+                    top--;
+                }
+            }
+        }
+        
+        return Arrays.copyOf(order, size);
+    }
+    
+    private int[] getActiveBlocksInOrder() {
+        int size = 0;
+        boolean[] active = new boolean[numOfBlocks];
+        
+        for (int output : outputs) {
+            active[output] = true;
+        }
+        
+        for (int i = numOfBlocks - 1; i >= 0; i--) {
+            if (active[i]) {
+                size++;
+                
+                for (int j = i * inputsPerBlock, end = j + inputsPerBlock; j < end; j++) {
+                    if (isBlockInput(inputs[j])) {
+                        active[inputs[j] - numOfVariables] = true;
+                    }
+                }
+            }
+        }
+        
+        int[] order = new int[size];
+        
+        for (int i = 0, j = 0; j < size; i++) {
+            if (active[i]) {
+                order[j++] = i;
+            }
+        }
+        
+        return order;
+    }
+    
+    public long getActiveHash(int[] activeBlocks) {
+        int[] positions = new int[numOfBlocks];
+        long hash = mix(HASH_SEED ^ activeBlocks.length);
+        
+        for (int i = 0; i < activeBlocks.length; i++) {
+            positions[activeBlocks[i]] = i;
+        }
+        
+        for (int block : activeBlocks) {
+            for (int i = block * inputsPerBlock, end = i + inputsPerBlock; i < end; i++) {
+                int input = inputs[i];
+                
+                hash = mix(hash ^ (isBlockInput(input) ? numOfVariables + positions[input - numOfVariables] : input));
+            }
+            
+            for (int bit = block * tableSize, end = bit + tableSize; bit < end; bit += Long.SIZE) {
+                hash = mix(hash ^ getTableBits(bit, Math.min(Long.SIZE, end - bit)));
+            }
+        }
+        
+        for (int output : outputs) {
+            hash = mix(hash ^ positions[output]);
+        }
+        
+        return hash;
+    }
+    
+    private long getTableBits(int bit, int length) {
+        int offset = bit & (Long.SIZE - 1);
+        long bits = tables[bit >>> 6] >>> offset;
+        
+        if (offset != 0 && offset + length > Long.SIZE) {
+            bits |= tables[(bit >>> 6) + 1] << (Long.SIZE - offset);
+        }
+        
+        return length == Long.SIZE ? bits : bits & ((1L << length) - 1L);
+    }
+    
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        
+        return value ^ (value >>> 31);
+    }
+    
+    public boolean hasBlockTables() {
+        return blockTables != null;
+    }
+    
+    public void resetBlockTables() {
+        blockTables = new long[numOfBlocks][];
+    }
+    
+    public void dropBlockTables() {
+        blockTables = null;
+    }
+    
+    public boolean[] updateBlockTables(int[] activeBlocks, VariablePatterns patterns) {
+        boolean[] active = new boolean[numOfBlocks];
+        boolean[] changed = new boolean[numOfBlocks];
+        long[] scratch = new long[tableSize];
+        
+        for (int block : activeBlocks) {
+            boolean recompute = blockTables[block] == null;
+            
+            for (int i = block * inputsPerBlock, end = i + inputsPerBlock; i < end && !recompute; i++) {
+                recompute = isBlockInput(inputs[i]) && changed[inputs[i] - numOfVariables];
+            }
+            
+            if (recompute) {
+                blockTables[block] = computeBlockTable(block, patterns, scratch);
+                changed[block] = true;
+            }
+            
+            active[block] = true;
+        }
+        
+        for (int i = 0; i < numOfBlocks; i++) {
+            if (!active[i]) {
+                blockTables[i] = null;
+            }
+        }
+        
+        return changed;
+    }
+    
+    private long[] computeBlockTable(int block, VariablePatterns patterns, long[] scratch) {
+        long[] table = new long[patterns.getNumOfWords()];
+        int firstInput = block * inputsPerBlock;
+        
+        for (int word = 0; word < table.length; word++) {
+            int size = tableSize;
+            
+            for (int i = 0; i < size; i++) {
+                scratch[i] = getTableBit(block * tableSize + i) ? -1L : 0L;
+            }
+            
+            for (int i = firstInput + inputsPerBlock - 1; i >= firstInput; i--) {
+                int input = inputs[i];
+                long select = isBlockInput(input)
+                        ? blockTables[input - numOfVariables][word]
+                        : patterns.getPattern(input, word);
+                
+                size >>>= 1;
+                
+                for (int j = 0; j < size; j++) {
+                    scratch[j] = (scratch[2 * j] & ~select) | (scratch[2 * j + 1] & select);
+                }
+            }
+            
+            table[word] = scratch[0];
+        }
+        
+        return table;
+    }
+    
+    public long[] getBlockTable(int block) {
+        return blockTables[block];
+    }
+    
+    public boolean isOutputDirty(int function) {
+        return outputErrors == null || outputErrors[function] < 0;
+    }
+    
+    public int getOutputError(int function) {
+        return outputErrors[function];
+    }
+    
+    public void setOutputError(int function, int error) {
+        if (outputErrors == null) {
+            outputErrors = new int[outputs.length];
+            Arrays.fill(outputErrors, -1);
+        }
+        
+        outputErrors[function] = error;
+    }
+    
+    public int[] getDirtyConeBlocks(int[] activeBlocks) {
+        int size = 0;
+        boolean[] needed = new boolean[numOfBlocks];
+        
+        for (int i = 0; i < outputs.length; i++) {
+            if (isOutputDirty(i)) {
+                needed[outputs[i]] = true;
+            }
+        }
+        
+        for (int i = activeBlocks.length - 1; i >= 0; i--) {
+            int block = activeBlocks[i];
+            
+            if (needed[block]) {
+                size++;
+                
+                for (int j = block * inputsPerBlock, end = j + inputsPerBlock; j < end; j++) {
+                    if (isBlockInput(inputs[j])) {
+                        needed[inputs[j] - numOfVariables] = true;
+                    }
+                }
+            }
+        }
+        
+        int[] cone = new int[size];
+        
+        for (int i = 0, j = 0; j < size; i++) {
+            if (needed[activeBlocks[i]]) {
+                cone[j++] = activeBlocks[i];
+            }
+        }
+        
+        return cone;
+    }
+    
+    public int[] getSupportMasks(int[] activeBlocks) {
+        int[] supports = new int[numOfBlocks];
+        
+        for (int block : activeBlocks) {
+            int support = 0;
+            
+            for (int i = block * inputsPerBlock, end = i + inputsPerBlock; i < end; i++) {
+                support |= isBlockInput(inputs[i]) ? supports[inputs[i] - numOfVariables] : 1 << inputs[i];
+            }
+            
+            supports[block] = support;
+        }
+        
+        return supports;
+    }
+    
+    public int[] compileActiveBlocks(int[] activeBlocks, ExpressionCompiler compiler) {
+        int[] blockSlots = new int[numOfBlocks];
+        int[] inputSlots = new int[inputsPerBlock];
+        
+        for (int block : activeBlocks) {
+            for (int i = 0; i < inputsPerBlock; i++) {
+                int input = inputs[block * inputsPerBlock + i];
+                
+                if (isBlockInput(input)) {
+                    inputSlots[i] = blockSlots[input - numOfVariables];
+                } else {
+                    inputSlots[i] = compiler.getVariableSlot(variables.get(input).getName());
+                }
+            }
+            
+            blockSlots[block] = compiler.addLookupTable(tables, block * tableSize, inputSlots);
+        }
+        
+        return blockSlots;
+    }
+    
+    public boolean mutate(SplittableRandom random, double mutationChance) {
+        boolean[] mutatedBlocks = new boolean[numOfBlocks];
+        
+        activeBlocks = null;
+        
+        for (int i = 0; i < numOfBlocks; i++) {
             boolean blockMutated = false;
             
-            blockMutated |= mutateTable(logicBlocks[i], mutationChance);
-            blockMutated |= mutateInputs(logicBlocks[i], i, mutationChance);
+            blockMutated |= mutateTable(random, i, mutationChance);
+            blockMutated |= mutateInputs(random, i, mutationChance);
+            
+            mutatedBlocks[i] = blockMutated;
             
-            if (blockMutated) {
-                mutatedBlocks.add(i);
+            if (blockMutated && blockTables != null) {
+                blockTables[i] = null;
             }
         }
         
-        return mutateFunctionOutputs(mutationChance, mutatedBlocks);
+        return mutateFunctionOutputs(random, mutationChance, mutatedBlocks);
     }
     
-    private boolean mutateTable(ConfigurableLogicBlock logicBlock, double mutationChance) {
+    private boolean mutateTable(SplittableRandom random, int blockIndex, double mutationChance) {
         boolean mutated = false;
         
         for (int i = 0; i < tableSize; i++) {
-            if (mutates(mutationChance)) {
-                logicBlock.flipOutput(i);
+            if (mutates(random, mutationChance)) {
+                flipTableBit(blockIndex * tableSize + i);
                 mutated = true;
             }
         }
@@ -130,28 +534,28 @@ public class CLBChromosome implements Comparable<CLBChromosome> {
         return mutated;
     }
     
-    private boolean mutateInputs(ConfigurableLogicBlock logicBlock, int blockIndex, double mutationChance) {
-        int numVars = variables.size();
+    private boolean mutateInputs(SplittableRandom random, int blockIndex, double mutationChance) {
         boolean mutated = false;
         
         for (int i = 0; i < inputsPerBlock; i++) {
-            if (mutates(mutationChance)) {
-                List<Integer> validBlocks = findValidBlocks(blockIndex);
+            if (mutates(random, mutationChance)) {
+                if (feedForward) {
+                    mutateInputInOrder(random, blockIndex, i);
+                    mutated = true;
+                    
+                    continue;
+                }
                 
-                int numBlocks = validBlocks.size();
-                int total = numVars + numBlocks;
-                int value = random.nextInt(total);
+                DirectedGraph connections = getConnections();
                 
-                if (value < numVars) {
-                    logicBlock.setInput(i, randomVariable());
-                    
-                    setInputAndUpdateGraph(blockIndex, i, -1);
+                int value = random.nextInt(numOfVariables + connections.countValidSources(blockIndex));
+                
+                if (value < numOfVariables) {
+                    setInputAndUpdateGraph(blockIndex, i, value);
                 } else {
-                    int block = validBlocks.get(random.nextInt(validBlocks.size()));
+                    int block = connections.selectValidSource(blockIndex, value - numOfVariables);
                     
-                    logicBlock.setInput(i, logicBlocks[block]);
-                    
-                    setInputAndUpdateGraph(blockIndex, i, block);
+                    setInputAndUpdateGraph(blockIndex, i, numOfVariables + block);
                 }
                 
                 mutated = true;
@@ -161,53 +565,91 @@ public class CLBChromosome implements Comparable<CLBChromosome> {
         return mutated;
     }
     
-    public void setInputAndUpdateGraph(int blockIndex, int inputIndex, int newInput) {
-        CLBInputs inputs = blockInputs.get(blockIndex);
-        
-        int oldInput = inputs.getInput(inputIndex);
+    private void mutateInputInOrder(SplittableRandom random, int blockIndex, int inputIndex) {
+        int firstBlock = levelsBack > 0 ? Math.max(0, blockIndex - levelsBack) : 0;
+        int numBlocks = blockIndex - firstBlock;
+        int value = random.nextInt(numOfVariables + numBlocks);
         
-        if (oldInput != -1) {
-            connections.disconnect(oldInput, blockIndex);
+        if (value < numOfVariables) {
+            inputs[blockIndex * inputsPerBlock + inputIndex] = value;
+        } else {
+            inputs[blockIndex * inputsPerBlock + inputIndex] = numOfVariables + firstBlock + value - numOfVariables;
         }
+    }
+    
+    private void setInputAndUpdateGraph(int blockIndex, int inputIndex, int newInput) {
+        DirectedGraph connections = getConnections();
+        int oldInput = inputs[blockIndex * inputsPerBlock + inputIndex];
+        
+        inputs[blockIndex * inputsPerBlock + inputIndex] = newInput;
         
-        if (newInput != -1) {
-            connections.connect(newInput, blockIndex);
+        if (isBlockInput(oldInput) && !hasInput(blockIndex, oldInput)) {
+            connections.disconnect(oldInput - numOfVariables, blockIndex);
         }
         
-        inputs.setInput(inputIndex, newInput);
+        if (isBlockInput(newInput)) {
+            connections.connect(newInput - numOfVariables, blockIndex);
+        }
     }
     
-    private List<Integer> findValidBlocks(int blockIndex) {
-        Set<Integer> validBlocks = new HashSet<>();
+    private boolean hasInput(int blockIndex, int input) {
+        for (int i = blockIndex * inputsPerBlock, end = i + inputsPerBlock; i < end; i++) {
+            if (inputs[i] == input) {
+                return true;
+            }
+        }
         
-        for (int i = 0; i < logicBlocks.length; i++) {
-            validBlocks.add(i);
+        return false;
+    }
+    
+    private DirectedGraph getConnections() {
+        if (connections == null) {
+            connections = new DirectedGraph(numOfBlocks);
+            
+            for (int i = 0; i < inputs.length; i++) {
+                if (isBlockInput(inputs[i])) {
+                    connections.connect(inputs[i] - numOfVariables, i / inputsPerBlock);
+                }
+            }
+        } else if (!ownsConnections) {
+            connections = new DirectedGraph(connections);
         }
         
-        validBlocks.remove(blockIndex);
-        validBlocks.removeAll(connections.getForwardConnections(blockIndex));
+        ownsConnections = true;
         
-        return new ArrayList<>(validBlocks);
+        return connections;
     }
     
-    private boolean mutateFunctionOutputs(double mutationChance, Set<Integer> mutatedBlocks) {
+    private boolean mutateFunctionOutputs(SplittableRandom random, double mutationChance, boolean[] mutatedBlocks) {
         boolean mutated = false;
         
-        for (Map.Entry<String, Integer> functionOutput : functionOutputs.entrySet()) {
-            if (mutates(mutationChance)) {
-                functionOutput.setValue(randomBlockIndex());
+        for (int i = 0; i < outputs.length; i++) {
+            if (mutates(random, mutationChance)) {
+                outputs[i] = randomBlockIndex(random);
                 mutated = true;
+                
+                if (outputErrors != null) {
+                    outputErrors[i] = -1;
+                }
             }
-            
-            tagClbs(functionOutput.getKey());
         }
         
-        if (!mutated) {
-            for (Integer tag : taggedClbs) {
-                if (mutatedBlocks.contains(tag)) {
-                    taggedClbs.clear();
-                    
-                    return true;
+        if (mutated && outputErrors == null) {
+            return true;
+        }
+        
+        for (int block : getActiveBlocks()) {
+            for (int i = block * inputsPerBlock, end = i + inputsPerBlock; i < end && !mutatedBlocks[block]; i++) {
+                mutatedBlocks[block] = isBlockInput(inputs[i]) && mutatedBlocks[inputs[i] - numOfVariables];
+            }
+        }
+        
+        for (int i = 0; i < outputs.length; i++) {
+            if (mutatedBlocks[outputs[i]]) {
+                mutated = true;
+                
+                if (outputErrors != null) {
+                    outputErrors[i] = -1;
                 }
             }
         }
@@ -215,16 +657,55 @@ public class CLBChromosome implements Comparable<CLBChromosome> {
         return mutated;
     }
     
-    private boolean mutates(double mutationChance) {
+    private boolean isBlockInput(int input) {
+        return input >= numOfVariables;
+    }
+    
+    private void flipTableBit(int bit) {
+        tables[bit >>> 6] ^= 1L << bit;
+    }
+    
+    private boolean getTableBit(int bit) {
+        return (tables[bit >>> 6] & (1L << bit)) != 0L;
+    }
+    
+    private static boolean mutates(SplittableRandom random, double mutationChance) {
         return mutationChance >= random.nextDouble();
     }
     
-    private IBooleanExpression randomVariable() {
-        return variables.get(random.nextInt(variables.size()));
+    private int randomVariable(SplittableRandom random) {
+        return random.nextInt(numOfVariables);
     }
     
-    private int randomBlockIndex() {
-        return random.nextInt(logicBlocks.length);
+    private int randomBlockIndex(SplittableRandom random) {
+        return random.nextInt(numOfBlocks);
+    }
+    
+    private ConfigurableLogicBlock[] createLogicBlocks() {
+        ConfigurableLogicBlock[] logicBlocks = new ConfigurableLogicBlock[numOfBlocks];
+        
+        for (int i = 0; i < numOfBlocks; i++) {
+            logicBlocks[i] = new ConfigurableLogicBlock(inputsPerBlock);
+            logicBlocks[i].setName(Integer.toString(i + 1));
+            
+            for (int j = 0; j < tableSize; j++) {
+                logicBlocks[i].setOutput(j, getTableBit(i * tableSize + j));
+            }
+        }
+        
+        for (int i = 0; i < numOfBlocks; i++) {
+            for (int j = 0; j < inputsPerBlock; j++) {
+                int input = inputs[i * inputsPerBlock + j];
+                
+                if (isBlockInput(input)) {
+                    logicBlocks[i].setInput(j, logicBlocks[input - numOfVariables]);
+                } else {
+                    logicBlocks[i].setInput(j, variables.get(input));
+                }
+            }
+        }
+        
+        return logicBlocks;
     }
     
     @Override
@@ -233,13 +714,37 @@ public class CLBChromosome implements Comparable<CLBChromosome> {
             return 1;
         } else if (error < o.error) {
             return -1;
-        } else if (clbs > o.clbs) {
-            return 1;
         } else {
-            return -1;
+            return Integer.compare(clbs, o.clbs);
         }
     }
     
+    public void reject() {
+        rejected = true;
+        error = Integer.MAX_VALUE;
+        outputErrors = null;
+    }
+    
+    public boolean isRejected() {
+        return rejected;
+    }
+    
+    public int getNumOfBlocks() {
+        return numOfBlocks;
+    }
+    
+    public int getInputsPerBlock() {
+        return inputsPerBlock;
+    }
+    
+    public boolean isFeedForward() {
+        return feedForward;
+    }
+    
+    public int getLevelsBack() {
+        return levelsBack;
+    }
+    
     public String getFitnessString() {
         return "(" + error + ", " + clbs + ")";
     }
@@ -263,6 +768,7 @@ public class CLBChromosome implements Comparable<CLBChromosome> {
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
+        ConfigurableLogicBlock[] logicBlocks = createLogicBlocks();
         
         for (int i = 0; i < logicBlocks.length; i++) {
             builder.append("Block ").append(i + 1).append(":\n");
@@ -271,42 +777,10 @@ public class CLBChromosome implements Comparable<CLBChromosome> {
             builder.append("-------------------\n");
         }
         
-        functionOutputs.forEach((function, output) -> {
-            builder.append(function).append(" => ").append(output + 1).append("\n");
-        });
+        for (int i = 0; i < outputs.length; i++) {
+            builder.append(functionNames.get(i)).append(" => ").append(outputs[i] + 1).append("\n");
+        }
         
         return builder.toString();
     }
-    
-    public void tagClbs(String functionName) {
-        int clbIndex = functionOutputs.get(functionName);
-        
-        Set<Integer> clbsToIterate = new HashSet<>();
-        Set<Integer> newClbsToIterate = new HashSet<>();
-        
-        taggedClbs.add(clbIndex);
-        newClbsToIterate.add(clbIndex);
-        
-        while (!newClbsToIterate.isEmpty()) {
-            clbsToIterate.addAll(newClbsToIterate);
-            newClbsToIterate.clear();
-            
-            for (int clb : clbsToIterate) {
-                for (int input : blockInputs.get(clb).getInputs()) {
-                    if (input != -1) {
-                        newClbsToIterate.add(input);
-                        taggedClbs.add(input);
-                    }
-                }
-            }
-            
-            newClbsToIterate.removeAll(clbsToIterate);
-            clbsToIterate.clear();
-        }
-    }
-    
-    public void setNumOfTaggedClbs() {
-        clbs = taggedClbs.size();
-        taggedClbs.clear();
-    }
 }
@@ -0,0 +1,146 @@
+package at.doml.fpgasolver.solver;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import at.doml.fpgasolver.expressions.VariableExpression;
+import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
+
+public class ChromosomeCodec {
+    
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    
+    private final long fingerprint;
+    private final List<IBooleanExpression> variables;
+    private final List<String> functionNames;
+    private final int numOfBlocks;
+    private final int inputsPerBlock;
+    private final boolean feedForward;
+    private final int levelsBack;
+    
+    public ChromosomeCodec(Evaluator evaluator, int numOfBlocks, int inputsPerBlock, boolean feedForward,
+            int levelsBack) {
+        this.numOfBlocks = numOfBlocks;
+        this.inputsPerBlock = inputsPerBlock;
+        this.feedForward = feedForward;
+        this.levelsBack = feedForward ? levelsBack : 0;
+        
+        variables = evaluator.getVariables().stream()
+                .map(variableName -> new VariableExpression(variableName))
+                .collect(Collectors.toList());
+        functionNames = evaluator.getFunctionNames();
+        fingerprint = fingerprint(functionNames, fingerprint(evaluator.getVariables(), FNV_OFFSET));
+    }
+    
+    private static long fingerprint(Collection<String> names, long hash) {
+        for (String name : new TreeSet<>(names)) {
+            for (int i = 0; i < name.length(); i++) {
+                hash = (hash ^ name.charAt(i)) * FNV_PRIME;
+            }
+            
+            hash = (hash ^ Character.MAX_VALUE) * FNV_PRIME;
+        }
+        
+        return (hash ^ names.size()) * FNV_PRIME;
+    }
+    
+    public long getFingerprint() {
+        return fingerprint;
+    }
+    
+    public void checkFingerprint(long fingerprint) throws IOException {
+        if (fingerprint != this.fingerprint) {
+            throw new IOException("Chromosomes were encoded for a circuit with different variable or function "
+                    + "names.");
+        }
+    }
+    
+    List<IBooleanExpression> getVariables() {
+        return variables;
+    }
+    
+    List<String> getFunctionNames() {
+        return functionNames;
+    }
+    
+    public void write(DataOutput out, CLBChromosome chromosome) throws IOException {
+        chromosome.writeTo(out);
+    }
+    
+    public CLBChromosome read(DataInput in) throws IOException {
+        return new CLBChromosome(in, this);
+    }
+    
+    public void checkOptions(int numOfBlocks, int inputsPerBlock, int numOfVariables, boolean feedForward,
+            int levelsBack) throws IOException {
+        int encodedLevelsBack = feedForward ? levelsBack : 0;
+        
+        if (numOfBlocks != this.numOfBlocks || inputsPerBlock != this.inputsPerBlock
+                || numOfVariables != variables.size() || feedForward != this.feedForward
+                || encodedLevelsBack != this.levelsBack) {
+            throw new IOException("Chromosomes were encoded with different options: "
+                    + describe(numOfBlocks, inputsPerBlock, numOfVariables, feedForward, encodedLevelsBack)
+                    + " instead of " + describe(this.numOfBlocks, this.inputsPerBlock, variables.size(),
+                            this.feedForward, this.levelsBack) + ".");
+        }
+    }
+    
+    private static String describe(int numOfBlocks, int inputsPerBlock, int numOfVariables, boolean feedForward,
+            int levelsBack) {
+        return numOfBlocks + " CLBs with " + inputsPerBlock + " inputs over " + numOfVariables + " variables"
+                + (feedForward ? ", feed-forward with levels-back " + levelsBack : "");
+    }
+    
+    public void writeAll(DataOutput out, List<CLBChromosome> chromosomes) throws IOException {
+        out.writeInt(chromosomes.size());
+        
+        for (CLBChromosome chromosome : chromosomes) {
+            write(out, chromosome);
+        }
+    }
+    
+    public List<CLBChromosome> readAll(DataInput in) throws IOException {
+        int size = in.readInt();
+        
+        if (size < 0) {
+            throw new IOException("Invalid number of chromosomes: " + size + ".");
+        }
+        
+        List<CLBChromosome> chromosomes = new ArrayList<>();
+        
+        for (int i = 0; i < size; i++) {
+            chromosomes.add(read(in));
+        }
+        
+        return chromosomes;
+    }
+    
+    public byte[] encode(List<CLBChromosome> chromosomes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(fingerprint);
+            writeAll(out, chromosomes);
+        }
+        
+        return bytes.toByteArray();
+    }
+    
+    public List<CLBChromosome> decode(byte[] bytes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            checkFingerprint(in.readLong());
+            
+            return readAll(in);
+        }
+    }
+}
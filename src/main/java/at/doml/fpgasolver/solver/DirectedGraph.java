@@ -1,53 +1,207 @@
 package at.doml.fpgasolver.solver;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.Arrays;
 
 public class DirectedGraph {
     
-    private final List<Set<Integer>> directConnections;
-    private final List<Set<Integer>> forwardConnections;
-    private final List<Set<Integer>> backwardConnections;
+    private boolean closureValid;
+    private int[] order;
+    private int[] inDegrees;
+    private final int numOfNodes;
+    private final int wordsPerNode;
+    private final long[] directConnections;
+    private final long[] forwardConnections;
     
     public DirectedGraph(int numOfNodes) {
-        directConnections = new ArrayList<>(numOfNodes);
-        forwardConnections = new ArrayList<>(numOfNodes);
-        backwardConnections = new ArrayList<>(numOfNodes);
+        this.numOfNodes = numOfNodes;
         
-        for (int i = 0; i < numOfNodes; i++) {
-            directConnections.add(new HashSet<>());
-            forwardConnections.add(new HashSet<>());
-            backwardConnections.add(new HashSet<>());
-        }
+        closureValid = true;
+        wordsPerNode = (numOfNodes + Long.SIZE - 1) / Long.SIZE;
+        directConnections = new long[numOfNodes * wordsPerNode];
+        forwardConnections = new long[numOfNodes * wordsPerNode];
+    }
+    
+    public DirectedGraph(DirectedGraph original) {
+        this.numOfNodes = original.numOfNodes;
+        this.wordsPerNode = original.wordsPerNode;
+        this.closureValid = original.closureValid;
+        this.directConnections = Arrays.copyOf(original.directConnections, original.directConnections.length);
+        this.forwardConnections = Arrays.copyOf(original.forwardConnections, original.forwardConnections.length);
     }
     
     public void connect(int from, int to) {
-        directConnections.get(from).add(to);
-        forwardConnections.get(from).add(to);
-        forwardConnections.get(from).addAll(forwardConnections.get(to));
-        backwardConnections.get(to).add(from);
-        backwardConnections.get(to).addAll(backwardConnections.get(from));
+        if (isSet(directConnections, from, to)) {
+            return;
+        }
         
-        Set<Integer> forward = forwardConnections.get(from);
+        set(directConnections, from, to);
         
-        backwardConnections.get(from).forEach(connection -> {
-            forwardConnections.get(connection).addAll(forward);
-        });
+        if (!closureValid) {
+            return;
+        }
         
-        Set<Integer> backward = backwardConnections.get(to);
+        int toOffset = to * wordsPerNode;
         
-        forwardConnections.get(to).forEach(connection -> {
-            backwardConnections.get(connection).addAll(backward);
-        });
+        for (int node = 0; node < numOfNodes; node++) {
+            if (node == from || isSet(forwardConnections, node, from)) {
+                int nodeOffset = node * wordsPerNode;
+                
+                for (int i = 0; i < wordsPerNode; i++) {
+                    forwardConnections[nodeOffset + i] |= forwardConnections[toOffset + i];
+                }
+                
+                set(forwardConnections, node, to);
+            }
+        }
     }
     
-    public Set<Integer> getForwardConnections(int index) {
-        return forwardConnections.get(index);
+    public void disconnect(int from, int to) {
+        if (isSet(directConnections, from, to)) {
+            clear(directConnections, from, to);
+            closureValid = false;
+        }
     }
     
-    public void disconnect(int from, int to) {
-        directConnections.get(from).remove(to);
+    public boolean isConnected(int from, int to) {
+        return isSet(directConnections, from, to);
+    }
+    
+    public boolean isReachable(int from, int to) {
+        ensureClosure();
+        
+        return isSet(forwardConnections, from, to);
+    }
+    
+    public boolean wouldCreateCycle(int from, int to) {
+        return from == to || isReachable(to, from);
+    }
+    
+    public int countForwardConnections(int node) {
+        ensureClosure();
+        
+        int count = 0;
+        int offset = node * wordsPerNode;
+        
+        for (int i = 0; i < wordsPerNode; i++) {
+            count += Long.bitCount(forwardConnections[offset + i]);
+        }
+        
+        return count;
+    }
+    
+    public int countValidSources(int to) {
+        return numOfNodes - 1 - countForwardConnections(to);
+    }
+    
+    public int selectValidSource(int to, int rank) {
+        ensureClosure();
+        
+        int offset = to * wordsPerNode;
+        
+        for (int i = 0; i < wordsPerNode; i++) {
+            long candidates = ~forwardConnections[offset + i];
+            
+            if (i == to >>> 6) {
+                candidates &= ~(1L << to);
+            }
+            
+            if (i == wordsPerNode - 1 && numOfNodes % Long.SIZE != 0) {
+                candidates &= (1L << numOfNodes) - 1L;
+            }
+            
+            int count = Long.bitCount(candidates);
+            
+            if (rank < count) {
+                for (; rank > 0; rank--) {
+                    candidates &= candidates - 1L;
+                }
+                
+                return i * Long.SIZE + Long.numberOfTrailingZeros(candidates);
+            }
+            
+            rank -= count;
+        }
+        
+        throw new IllegalArgumentException("There is no valid source with rank: " + rank);
+    }
+    
+    private void ensureClosure() {
+        if (closureValid) {
+            return;
+        }
+        
+        if (order == null) {
+            order = new int[numOfNodes];
+            inDegrees = new int[numOfNodes];
+        }
+        
+        Arrays.fill(inDegrees, 0);
+        
+        for (int node = 0; node < numOfNodes; node++) {
+            int offset = node * wordsPerNode;
+            
+            for (int i = 0; i < wordsPerNode; i++) {
+                for (long word = directConnections[offset + i]; word != 0L; word &= word - 1L) {
+                    inDegrees[i * Long.SIZE + Long.numberOfTrailingZeros(word)]++;
+                }
+            }
+        }
+        
+        int head = 0;
+        int tail = 0;
+        
+        for (int node = 0; node < numOfNodes; node++) {
+            if (inDegrees[node] == 0) {
+                order[tail++] = node;
+            }
+        }
+        
+        while (head < tail) {
+            int offset = order[head++] * wordsPerNode;
+            
+            for (int i = 0; i < wordsPerNode; i++) {
+                for (long word = directConnections[offset + i]; word != 0L; word &= word - 1L) {
+                    int next = i * Long.SIZE + Long.numberOfTrailingZeros(word);
+                    
+                    if (--inDegrees[next] == 0) {
+                        order[tail++] = next;
+                    }
+                }
+            }
+        }
+        
+        if (tail != numOfNodes) {
+            throw new IllegalStateException("Directed graph contains a cycle.");
+        }
+        
+        for (int j = numOfNodes - 1; j >= 0; j--) {
+            int offset = order[j] * wordsPerNode;
+            
+            System.arraycopy(directConnections, offset, forwardConnections, offset, wordsPerNode);
+            
+            for (int i = 0; i < wordsPerNode; i++) {
+                for (long word = directConnections[offset + i]; word != 0L; word &= word - 1L) {
+                    int nextOffset = (i * Long.SIZE + Long.numberOfTrailingZeros(word)) * wordsPerNode;
+                    
+                    for (int k = 0; k < wordsPerNode; k++) {
+                        forwardConnections[offset + k] |= forwardConnections[nextOffset + k];
+                    }
+                }
+            }
+        }
+        
+        closureValid = true;
+    }
+    
+    private boolean isSet(long[] matrix, int row, int column) {
+        return (matrix[row * wordsPerNode + (column >>> 6)] & (1L << column)) != 0L;
+    }
+    
+    private void set(long[] matrix, int row, int column) {
+        matrix[row * wordsPerNode + (column >>> 6)] |= 1L << column;
+    }
+    
+    private void clear(long[] matrix, int row, int column) {
+        matrix[row * wordsPerNode + (column >>> 6)] &= ~(1L << column);
     }
 }
@@ -1,25 +1,42 @@
 package at.doml.fpgasolver.solver;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.expressions.compiler.CompiledExpression;
+import at.doml.fpgasolver.expressions.compiler.ExpressionCompiler;
 import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
 import at.doml.fpgasolver.logic.TruthTable;
+import at.doml.fpgasolver.logic.VariablePatterns;
 
 public class Evaluator {
     
+    private static final int SUPPORT_TABLE_BITS = 14;
+    
+    private final int fullSupport;
     private final SortedSet<String> variables;
+    private final VariablePatterns patterns;
+    private final List<String> functionNames;
     private final List<FunctionExpression> targetFunctions;
     private final Map<String, FunctionExpression> functionsMap;
+    private final TruthTable[] targetTables;
+    private final int[] targetSupports;
+    private final VariablePatterns[] supportPatterns;
+    private final long[][] targetWords;
+    private final AtomicReferenceArray<SupportTable> supportTables =
+            new AtomicReferenceArray<>(1 << SUPPORT_TABLE_BITS);
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
     
     public Evaluator(FunctionExpression... targetFunctions) {
         this.targetFunctions = Arrays.asList(targetFunctions);
         
-        variables = IBooleanExpression.joinVariableSets(this.targetFunctions.stream());
+        SortedSet<String> variables = IBooleanExpression.joinVariableSets(this.targetFunctions.stream());
         functionsMap = this.targetFunctions.stream()
                 .collect(Collectors.toMap(
                         FunctionExpression::getName,
@@ -30,28 +47,326 @@ public class Evaluator {
                 targetFunction.replaceVariable(identifier, expression);
             });
         });
+        
+        this.variables = Collections.unmodifiableSortedSet(variables);
+        patterns = new VariablePatterns(variables.size());
+        functionNames = Collections.unmodifiableList(new ArrayList<>(functionsMap.keySet()));
+        targetTables = new TruthTable[functionNames.size()];
+        targetWords = new long[targetTables.length][patterns.getNumOfWords()];
+        
+        for (int i = 0; i < targetTables.length; i++) {
+            targetTables[i] = new TruthTable(functionsMap.get(functionNames.get(i)), this.variables);
+            
+            for (int j = 0; j < targetWords[i].length; j++) {
+                targetWords[i][j] = targetTables[i].getWord(j);
+            }
+        }
+        
+        List<String> variableNames = new ArrayList<>(variables);
+        fullSupport = (1 << variables.size()) - 1;
+        targetSupports = new int[targetTables.length];
+        supportPatterns = new VariablePatterns[variables.size() + 1];
+        
+        for (int i = 0; i < supportPatterns.length; i++) {
+            supportPatterns[i] = new VariablePatterns(i);
+        }
+        
+        for (int i = 0; i < targetSupports.length; i++) {
+            for (String variable : functionsMap.get(functionNames.get(i)).getExpressionVariables()) {
+                int index = variableNames.indexOf(variable);
+                
+                if (index >= 0) {
+                    targetSupports[i] |= 1 << index;
+                }
+            }
+        }
     }
     
     public void evaluate(CLBChromosome chromosome) {
+        evaluate(chromosome, chromosome.getActiveBlocks());
+    }
+    
+    public void evaluate(CLBChromosome chromosome, int[] activeBlocks) {
+        evaluate(chromosome, activeBlocks, Integer.MAX_VALUE);
+    }
+    
+    public boolean evaluate(CLBChromosome chromosome, int[] activeBlocks, int bound) {
+        if (chromosome.hasBlockTables()) {
+            return evaluateIncrementally(chromosome, activeBlocks, bound);
+        }
+        
+        Scratch scratch = this.scratch.get();
+        int numOfDirty = 0;
+        int[] dirtyOutputs = scratch.dirtyOutputs;
+        
+        for (int i = 0; i < dirtyOutputs.length; i++) {
+            if (chromosome.isOutputDirty(i)) {
+                dirtyOutputs[numOfDirty++] = i;
+            }
+        }
+        
         int error = 0;
         
-        for (Map.Entry<String, FunctionExpression> entry : functionsMap.entrySet()) {
-            TruthTable fpgaTable = new TruthTable(chromosome.getFunctionOutput(entry.getKey()), variables);
-            TruthTable targetTable = new TruthTable(entry.getValue(), variables);
+        for (int i = 0; i < targetTables.length; i++) {
+            if (!chromosome.isOutputDirty(i)) {
+                error += chromosome.getOutputError(i);
+            }
+        }
+        
+        if (error > bound) {
+            chromosome.reject();
             
-            chromosome.tagClbs(entry.getKey());
-            error += fpgaTable.countDifferentRows(targetTable);
+            return false;
+        }
+        
+        int[] blocks = numOfDirty == dirtyOutputs.length
+                ? activeBlocks
+                : chromosome.getDirtyConeBlocks(activeBlocks);
+        int[] outputSlots = scratch.outputSlots;
+        int[] errors = scratch.errors;
+        ExpressionCompiler compiler = scratch.compiler;
+        
+        Arrays.fill(errors, 0, numOfDirty, 0);
+        compiler.reset();
+        
+        int[] blockSlots = chromosome.compileActiveBlocks(blocks, compiler);
+        
+        for (int i = 0; i < numOfDirty; i++) {
+            outputSlots[i] = blockSlots[chromosome.getFunctionOutputIndex(dirtyOutputs[i])];
+        }
+        
+        if (numOfDirty > 0) {
+            CompiledExpression network = compiler.build();
+            long[] slots = scratch.getSlots(network.getNumOfWordSlots());
+            int[] supports = getOutputSupports(chromosome, blocks, scratch, numOfDirty);
+            
+            for (int i = 0; i < numOfDirty; i++) {
+                if (isFirstSupport(supports, i)) {
+                    error = evaluateSupport(network, slots, supports[i], scratch, numOfDirty, error, bound);
+                    
+                    if (error > bound) {
+                        chromosome.reject();
+                        
+                        return false;
+                    }
+                }
+            }
+        }
+        
+        for (int i = 0; i < numOfDirty; i++) {
+            chromosome.setOutputError(dirtyOutputs[i], errors[i]);
         }
         
         chromosome.setError(error);
-        chromosome.setNumOfTaggedClbs();
+        chromosome.setClbs(activeBlocks.length);
+        
+        return true;
+    }
+    
+    private int[] getOutputSupports(CLBChromosome chromosome, int[] blocks, Scratch scratch, int numOfDirty) {
+        int[] dirtyOutputs = scratch.dirtyOutputs;
+        int[] supports = scratch.supports;
+        
+        if (patterns.getNumOfWords() > 1) {
+            int[] blockSupports = chromosome.getSupportMasks(blocks);
+            int numOfWords = 0;
+            
+            for (int i = 0; i < numOfDirty; i++) {
+                supports[i] = targetSupports[dirtyOutputs[i]]
+                        | blockSupports[chromosome.getFunctionOutputIndex(dirtyOutputs[i])];
+                
+                if (isFirstSupport(supports, i)) {
+                    numOfWords += supportPatterns[Integer.bitCount(supports[i])].getNumOfWords();
+                }
+            }
+            
+            if (numOfWords <= patterns.getNumOfWords() / 2) {
+                return supports;
+            }
+        }
+        
+        Arrays.fill(supports, 0, numOfDirty, fullSupport);
+        
+        return supports;
+    }
+    
+    private static boolean isFirstSupport(int[] supports, int index) {
+        for (int i = 0; i < index; i++) {
+            if (supports[i] == supports[index]) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    private int evaluateSupport(CompiledExpression network, long[] slots, int support, Scratch scratch,
+            int numOfDirty, int error, int bound) {
+        VariablePatterns supportPatterns = this.supportPatterns[Integer.bitCount(support)];
+        int scale = patterns.getNumOfRows() / supportPatterns.getNumOfRows();
+        int numOfSupportVariables = supportPatterns.getNumOfVariables();
+        int[] dirtyOutputs = scratch.dirtyOutputs;
+        int[] outputSlots = scratch.outputSlots;
+        int[] supports = scratch.supports;
+        int[] errors = scratch.errors;
+        int[] supportVariables = scratch.supportVariables;
+        int[] members = scratch.members;
+        long[][] tables = scratch.tables;
+        int numOfMembers = 0;
+        
+        for (int i = 0, index = 0; i < patterns.getNumOfVariables(); i++) {
+            if ((support & (1 << i)) == 0) {
+                slots[i] = 0L;
+            } else {
+                supportVariables[index++] = i;
+            }
+        }
+        
+        for (int i = 0; i < numOfDirty; i++) {
+            if (supports[i] == support) {
+                tables[numOfMembers] = support == fullSupport
+                        ? targetWords[dirtyOutputs[i]]
+                        : getSupportTable(dirtyOutputs[i], support);
+                members[numOfMembers++] = i;
+            }
+        }
+        
+        for (int i = 0, numOfWords = supportPatterns.getNumOfWords(); i < numOfWords; i++) {
+            long mask = supportPatterns.getWordMask(i);
+            
+            for (int j = 0; j < numOfSupportVariables; j++) {
+                slots[supportVariables[j]] = supportPatterns.getPattern(j, i);
+            }
+            
+            network.evaluate(slots);
+            
+            for (int j = 0; j < numOfMembers; j++) {
+                int member = members[j];
+                int wordError = Long.bitCount((slots[outputSlots[member]] ^ tables[j][i]) & mask) * scale;
+                
+                errors[member] += wordError;
+                error += wordError;
+            }
+            
+            if (error > bound) {
+                break;
+            }
+        }
+        
+        return error;
+    }
+    
+    private long[] getSupportTable(int function, int support) {
+        long key = ((long) function << Integer.SIZE) | support;
+        int index = (int) ((key * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - SUPPORT_TABLE_BITS));
+        SupportTable cached = supportTables.get(index);
+        
+        if (cached != null && cached.key == key) {
+            return cached.table;
+        }
+        
+        VariablePatterns supportPatterns = this.supportPatterns[Integer.bitCount(support)];
+        int[] rowBits = new int[supportPatterns.getNumOfVariables()];
+        
+        for (int i = 0, bit = rowBits.length; i < patterns.getNumOfVariables(); i++) {
+            if ((support & (1 << i)) != 0) {
+                rowBits[--bit] = 1 << (patterns.getNumOfVariables() - i - 1);
+            }
+        }
+        
+        long[] table = new long[supportPatterns.getNumOfWords()];
+        
+        for (int row = 0; row < supportPatterns.getNumOfRows(); row++) {
+            int targetRow = 0;
+            
+            for (int i = 0; i < rowBits.length; i++) {
+                if ((row & (1 << i)) != 0) {
+                    targetRow |= rowBits[i];
+                }
+            }
+            
+            if (targetTables[function].getValue(targetRow)) {
+                table[row >>> 6] |= 1L << row;
+            }
+        }
+        
+        supportTables.set(index, new SupportTable(key, table));
+        
+        return table;
+    }
+    
+    private boolean evaluateIncrementally(CLBChromosome chromosome, int[] activeBlocks, int bound) {
+        boolean[] changed = chromosome.updateBlockTables(activeBlocks, patterns);
+        int error = 0;
+        
+        for (int i = 0; i < targetTables.length; i++) {
+            int block = chromosome.getFunctionOutputIndex(i);
+            int outputError = chromosome.isOutputDirty(i) ? -1 : chromosome.getOutputError(i);
+            
+            if (outputError < 0 || changed[block]) {
+                long[] table = chromosome.getBlockTable(block);
+                
+                outputError = 0;
+                
+                for (int j = 0; j < table.length; j++) {
+                    outputError += Long.bitCount((table[j] ^ targetTables[i].getWord(j)) & patterns.getWordMask(j));
+                }
+                
+                chromosome.setOutputError(i, outputError);
+            }
+            
+            error += outputError;
+            
+            if (error > bound) {
+                chromosome.reject();
+                
+                return false;
+            }
+        }
+        
+        chromosome.setError(error);
+        chromosome.setClbs(activeBlocks.length);
+        
+        return true;
     }
     
     public SortedSet<String> getVariables() {
         return variables;
     }
     
-    public Set<String> getFunctionNames() {
-        return functionsMap.keySet();
+    public List<String> getFunctionNames() {
+        return functionNames;
+    }
+    
+    private static class SupportTable {
+        
+        private final long key;
+        private final long[] table;
+        
+        private SupportTable(long key, long[] table) {
+            this.key = key;
+            this.table = table;
+        }
+    }
+    
+    private class Scratch {
+        
+        private long[] slots = new long[0];
+        private final ExpressionCompiler compiler = new ExpressionCompiler(variables);
+        private final int[] dirtyOutputs = new int[targetTables.length];
+        private final int[] outputSlots = new int[targetTables.length];
+        private final int[] errors = new int[targetTables.length];
+        private final int[] supports = new int[targetTables.length];
+        private final int[] members = new int[targetTables.length];
+        private final long[][] tables = new long[targetTables.length][];
+        private final int[] supportVariables = new int[patterns.getNumOfVariables()];
+        
+        private long[] getSlots(int size) {
+            if (slots.length < size) {
+                slots = new long[size];
+            }
+            
+            return slots;
+        }
     }
 }
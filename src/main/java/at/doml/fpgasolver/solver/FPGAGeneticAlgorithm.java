@@ -9,16 +9,28 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Random;
-import java.util.SortedSet;
-import java.util.TreeSet;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import at.doml.fpgasolver.checkpoint.Checkpoint;
+import at.doml.fpgasolver.checkpoint.CheckpointWriter;
+import at.doml.fpgasolver.distributed.interfaces.IMigrationChannel;
+import at.doml.fpgasolver.execution.ForkJoinBackend;
+import at.doml.fpgasolver.execution.interfaces.IExecutionBackend;
+import at.doml.fpgasolver.instrumentation.GenerationRecorder;
+import at.doml.fpgasolver.instrumentation.GenerationStats;
+import at.doml.fpgasolver.instrumentation.interfaces.IGenerationListener;
 import at.doml.fpgasolver.expressions.VariableExpression;
 import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
 
@@ -29,16 +41,31 @@ public class FPGAGeneticAlgorithm {
     private final int clbInputs;
     private final int mutationsPerParent;
     private final int maxGenerations;
+    private final int levelsBack;
+    private final int islands;
+    private final int migrationInterval;
+    private final int migrants;
+    private final int incrementalElites;
     private final double mutationChance;
     private final boolean printMessages;
     private final boolean printTime;
     private final boolean iterativeMode;
     private final boolean firstAcceptable;
-    private final Random random;
+    private final boolean feedForward;
+    private final boolean steadyState;
+    private final boolean earlyExit;
+    private final long seed;
+    private final MigrationTopology topology;
     private final Evaluator evaluator;
+    private final IExecutionBackend backend;
+    private final IMigrationChannel channel;
+    private final Checkpoint resume;
+    private final CheckpointWriter checkpointWriter;
+    private final FitnessCache fitnessCache;
+    private final List<IGenerationListener> listeners;
+    private final GenerationRecorder recorder;
     private final BufferedReader reader;
     private final BufferedWriter writer;
-    private static final int THREADS_PER_PROCESSOR = 8;
     
     private FPGAGeneticAlgorithm(Builder builder) {
         this.popSize = checkAndSet("population size", builder.popSize, FPGAGeneticAlgorithm::isPositive);
@@ -48,26 +75,73 @@ public class FPGAGeneticAlgorithm {
                 builder.mutationsPerParent, FPGAGeneticAlgorithm::isPositive);
         this.maxGenerations = checkAndSet("number of generations",
                 builder.maxGenerations, FPGAGeneticAlgorithm::isPositive);
+        this.levelsBack = checkAndSet("number of levels back", builder.levelsBack, levels -> levels >= 0);
+        this.islands = checkAndSet("number of islands", builder.islands, islands -> islands >= 0);
+        this.migrationInterval = checkAndSet("migration interval",
+                builder.migrationInterval, FPGAGeneticAlgorithm::isPositive);
+        this.migrants = checkAndSet("number of migrants", builder.migrants,
+                migrants -> migrants >= 0 && migrants < popSize);
+        this.incrementalElites = checkAndSet("number of incremental elites", builder.incrementalElites,
+                elites -> elites >= 0);
         this.mutationChance = checkAndSet("mutation chance", builder.mutationChance,
                 chance -> chance >= 0.0 && chance <= 1.0);
         this.printMessages = builder.printMessages;
         this.printTime = builder.printTime;
         this.iterativeMode = builder.iterativeMode;
         this.firstAcceptable = builder.firstAcceptable;
-        this.random = checkIfNull("Random object", builder.random);
+        this.feedForward = builder.feedForward;
+        this.steadyState = builder.steadyState;
+        this.earlyExit = builder.earlyExit;
+        
+        if (steadyState && islands > 0) {
+            throw new IllegalArgumentException("Steady-state mode cannot be combined with island mode.");
+        }
+        this.resume = builder.resume;
+        this.checkpointWriter = builder.checkpointWriter;
+        this.fitnessCache = builder.fitnessCache;
+        this.listeners = new ArrayList<>(builder.listeners);
+        this.recorder = listeners.isEmpty() ? null : new GenerationRecorder();
+        this.seed = resume == null ? builder.seed : resume.getSeed();
+        this.topology = checkIfNull("MigrationTopology object", builder.topology);
         this.evaluator = checkIfNull("Evaluator object", builder.evaluator);
+        this.backend = builder.backend == null
+                ? new ForkJoinBackend(Runtime.getRuntime().availableProcessors())
+                : builder.backend;
+        this.channel = builder.channel;
+        
+        if (steadyState && (resume != null || checkpointWriter != null)) {
+            throw new IllegalArgumentException("Steady-state mode does not support checkpoints.");
+        }
+        
+        if (channel != null && islands == 0) {
+            throw new IllegalArgumentException("Distributed mode requires island mode.");
+        }
         
         reader = new BufferedReader(new InputStreamReader(checkIfNull("InputStream object", builder.inputStream)));
         writer = new BufferedWriter(new OutputStreamWriter(checkIfNull("OutputStream object", builder.outputStream)));
     }
     
     private int generation;
+    private int completedIterations;
+    private int lastCheckpointGeneration;
+    private long lastCheckpointTime;
     private long time;
     private long totalTime;
+    private long reportTime;
+    private long randomSeed;
+    private long[] islandSeeds;
     private CLBChromosome best;
-    private List<Future<?>> futures;
-    private ExecutorService executor;
-    private SortedSet<CLBChromosome> population;
+    private SplittableRandom random;
+    private SplittableRandom[] taskRandoms;
+    private SplittableRandom[] islandRandoms;
+    private int[] islandGenerations;
+    private CLBChromosome[] population;
+    private CLBChromosome[] nextPopulation;
+    private volatile boolean stopped;
+    private final AtomicLong evaluations = new AtomicLong();
+    private final LongAdder executedEvaluations = new LongAdder();
+    private final AtomicReference<CLBChromosome> sharedBest = new AtomicReference<>();
+    private AtomicReferenceArray<CLBChromosome> sharedPopulation;
     
     private static <T> T checkAndSet(String argName, T value, Function<T, Boolean> validator) {
         if (validator.apply(value)) {
@@ -90,34 +164,45 @@ public class FPGAGeneticAlgorithm {
     }
     
     public CLBChromosome findSolution() {
-        totalTime = 0L;
+        backend.start();
         
-        long tTime = System.currentTimeMillis();
+        if (checkpointWriter != null) {
+            checkpointWriter.start();
+        }
         
-        generation = 0;
-        executor = Executors.newFixedThreadPool(THREADS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
-        population = generatePopulation();
-        futures = new ArrayList<>(popSize);
-        time = System.currentTimeMillis();
+        try {
+            return solve();
+        } finally {
+            try {
+                backend.shutdown();
+            } finally {
+                if (checkpointWriter != null) {
+                    checkpointWriter.shutdown();
+                }
+            }
+        }
+    }
+    
+    private CLBChromosome solve() {
+        totalTime = 0L;
         
-        population.forEach(pop -> {
-            futures.add(executor.submit(() -> {
-                evaluator.evaluate(pop);
-            }));
-        });
+        long tTime = System.currentTimeMillis();
         
-        time = System.currentTimeMillis() - time;
+        taskRandoms = new SplittableRandom[popSize];
+        islandRandoms = new SplittableRandom[islands];
+        islandGenerations = new int[islands];
         
-        printMessage(time, generation, population, population.first());
+        if (resume == null) {
+            initialize();
+        } else {
+            restore();
+        }
         
-        synchronize(futures);
-        best = population.first();
+        lastCheckpointGeneration = generation;
+        lastCheckpointTime = System.currentTimeMillis();
         totalTime += System.currentTimeMillis() - tTime;
-        generation++;
         
         if (firstAcceptable && best.getError() == 0) {
-            executor.shutdown();
-            
             return best;
         }
         
@@ -127,7 +212,7 @@ public class FPGAGeneticAlgorithm {
             while (continueIterating) {
                 tTime = System.currentTimeMillis();
                 
-                iteration();
+                run();
                 
                 totalTime += System.currentTimeMillis() - tTime;
                 
@@ -142,70 +227,584 @@ public class FPGAGeneticAlgorithm {
         } else {
             tTime = System.currentTimeMillis();
             
-            iteration();
+            run();
             
             totalTime += System.currentTimeMillis() - tTime;
         }
         
-        executor.shutdown();
-        
         return best;
     }
     
+    private void initialize() {
+        generation = 0;
+        completedIterations = 0;
+        evaluations.set(0L);
+        executedEvaluations.reset();
+        random = new SplittableRandom(seed);
+        population = generatePopulation(islands > 0 ? islands * popSize : popSize);
+        nextPopulation = new CLBChromosome[population.length];
+        time = System.currentTimeMillis();
+        
+        for (int i = 0; i < islands; i++) {
+            islandRandoms[i] = random.split();
+        }
+        
+        backend.forEach(population.length, slot -> evaluator.evaluate(population[slot]));
+        evaluations.addAndGet(population.length);
+        executedEvaluations.add(population.length);
+        
+        best = findBest(population);
+        time = System.currentTimeMillis() - time;
+        
+        retainBlockTables(population);
+        printMessage(time, generation, population, best);
+        
+        generation++;
+    }
+    
+    private void restore() {
+        int expectedSize = islands > 0 ? islands * popSize : popSize;
+        
+        if (resume.getPopulation().length != expectedSize || resume.getIslandSeeds().length != islands) {
+            throw new IllegalArgumentException("Checkpoint was created with a different population size or number "
+                    + "of islands.");
+        }
+        
+        if (resume.getNumOfClbs() != numOfClbs || resume.getClbInputs() != clbInputs
+                || resume.getNumOfVariables() != evaluator.getVariables().size()
+                || resume.isFeedForward() != feedForward || feedForward && resume.getLevelsBack() != levelsBack) {
+            throw new IllegalArgumentException("Checkpoint was created with different CLB options or a different "
+                    + "set of variables.");
+        }
+        
+        generation = resume.getGeneration();
+        completedIterations = generation - 1;
+        evaluations.set(resume.getEvaluations());
+        executedEvaluations.reset();
+        random = new SplittableRandom(resume.getRandomSeed());
+        population = resume.getPopulation().clone();
+        nextPopulation = new CLBChromosome[population.length];
+        best = resume.getBest();
+        
+        retainBlockTables(population);
+        
+        for (int i = 0; i < islands; i++) {
+            islandRandoms[i] = new SplittableRandom(resume.getIslandSeeds()[i]);
+        }
+        
+        if (printMessages) {
+            writeLine("Resumed from generation: " + (generation - 1) + ", current best: " + best.getFitnessString()
+                    + ".");
+        }
+    }
+    
+    private void reseed() {
+        randomSeed = random.nextLong();
+        islandSeeds = new long[islands];
+        
+        for (int i = 0; i < islands; i++) {
+            islandSeeds[i] = random.nextLong();
+            islandRandoms[i] = new SplittableRandom(islandSeeds[i]);
+        }
+        
+        random = new SplittableRandom(randomSeed);
+    }
+    
+    private void checkpoint() {
+        long now = System.currentTimeMillis();
+        
+        if (checkpointWriter == null
+                || !checkpointWriter.isDue(generation - lastCheckpointGeneration, now - lastCheckpointTime)
+                || checkpointWriter.isBusy()) {
+            return;
+        }
+        
+        lastCheckpointGeneration = generation;
+        lastCheckpointTime = now;
+        
+        checkpointWriter.submit(new Checkpoint(generation, evaluations.get(), seed, randomSeed, islandSeeds,
+                numOfClbs, clbInputs, evaluator.getVariables().size(), feedForward, levelsBack, best,
+                population.clone()));
+    }
+    
+    private void run() {
+        if (islands > 0) {
+            islandIteration();
+        } else if (steadyState) {
+            steadyStateIteration();
+        } else {
+            iteration();
+        }
+    }
+    
     private void iteration() {
-        int iteration = 0;
+        int iteration = completedIterations;
+        
+        completedIterations = 0;
         
         while (iteration <= maxGenerations) {
+            long start = System.nanoTime();
+            
             time = System.currentTimeMillis();
             
-            SortedSet<CLBChromosome> newPopulation = Collections.synchronizedSortedSet(new TreeSet<>());
-            
-            futures.clear();
-            
-            population.forEach(pop -> {
-                futures.add(executor.submit(() -> {
-                    SortedSet<CLBChromosome> children = new TreeSet<>();
-                    
-                    for (int i = 0; i < mutationsPerParent; i++) {
-                        CLBChromosome child = new CLBChromosome(pop);
-                        
-                        if (child.mutate(mutationChance)) {
-                            evaluator.evaluate(child);
-                        } else {
-                            child.setError(pop.getError());
-                            child.setClbs(pop.getClbs());
-                        }
-                        
-                        children.add(child);
-                    }
-                    
-                    CLBChromosome bestChild = children.first();
-                    
-                    newPopulation.add(getBetter(bestChild, pop));
-                }));
-            });
-            
-            synchronize(futures);
-            best = getBetter(newPopulation.first(), best);
-            population = newPopulation;
+            for (int i = 0; i < popSize; i++) {
+                taskRandoms[i] = random.split();
+            }
+            
+            backend.forEach(popSize, slot -> nextPopulation[slot] = produceSurvivor(population[slot], taskRandoms[slot]));
+            
+            CLBChromosome[] previousPopulation = population;
+            
+            population = nextPopulation;
+            nextPopulation = previousPopulation;
+            
+            CLBChromosome generationBest = findBest(population);
+            
+            best = getBetter(generationBest, best);
             time = System.currentTimeMillis() - time;
+            evaluations.addAndGet((long) popSize * mutationsPerParent);
+            retainBlockTables(population);
+            
+            long printStart = System.nanoTime();
             
-            printMessage(time, generation, population, best);
+            printMessage(time, generation, population, generationBest);
+            notifyListeners(generation, 1, start, printStart);
             
             iteration++;
             generation++;
             
+            reseed();
+            checkpoint();
+            
             if (firstAcceptable && best.getError() == 0) {
                 return;
             }
         }
     }
     
+    private void islandIteration() {
+        int iteration = completedIterations;
+        
+        completedIterations = 0;
+        stopped = false;
+        
+        while (iteration <= maxGenerations) {
+            long start = System.nanoTime();
+            
+            time = System.currentTimeMillis();
+            
+            int epoch = Math.min(migrationInterval, maxGenerations + 1 - iteration);
+            
+            backend.forEach(islands, island -> evolveIsland(island, epoch));
+            
+            int completed = 0;
+            
+            for (int i = 0; i < islands; i++) {
+                completed = Math.max(completed, islandGenerations[i]);
+            }
+            
+            migrate();
+            
+            if (channel != null) {
+                exchange();
+            }
+            
+            CLBChromosome generationBest = findBest(population);
+            
+            best = getBetter(generationBest, best);
+            time = System.currentTimeMillis() - time;
+            iteration += completed;
+            generation += completed;
+            
+            retainBlockTables(population);
+            
+            long printStart = System.nanoTime();
+            
+            printMessage(time, generation - 1, population, generationBest);
+            notifyListeners(generation - 1, completed, start, printStart);
+            reseed();
+            checkpoint();
+            
+            if (firstAcceptable && best.getError() == 0 || channel != null && channel.isStopped()) {
+                return;
+            }
+        }
+    }
+    
+    private void evolveIsland(int island, int generations) {
+        int from = island * popSize;
+        int to = from + popSize;
+        SplittableRandom random = islandRandoms[island];
+        
+        islandGenerations[island] = 0;
+        
+        for (int i = 0; i < generations && !stopped; i++) {
+            for (int slot = from; slot < to; slot++) {
+                nextPopulation[slot] = produceSurvivor(population[slot], random);
+            }
+            
+            System.arraycopy(nextPopulation, from, population, from, popSize);
+            evaluations.addAndGet((long) popSize * mutationsPerParent);
+            
+            if (firstAcceptable) {
+                for (int slot = from; slot < to; slot++) {
+                    if (population[slot].getError() == 0) {
+                        stopped = true;
+                    }
+                }
+            }
+            
+            islandGenerations[island]++;
+        }
+    }
+    
+    private void migrate() {
+        if (islands < 2 || migrants == 0) {
+            return;
+        }
+        
+        CLBChromosome[][] emigrants = new CLBChromosome[islands][];
+        
+        for (int i = 0; i < islands; i++) {
+            emigrants[i] = sortIsland(i, Comparator.naturalOrder());
+        }
+        
+        for (int i = 0; i < islands; i++) {
+            int target;
+            
+            if (topology == MigrationTopology.RING) {
+                target = (i + 1) % islands;
+            } else {
+                target = (i + 1 + random.nextInt(islands - 1)) % islands;
+            }
+            
+            CLBChromosome[] residents = sortIsland(target, Comparator.reverseOrder());
+            
+            for (int j = 0; j < migrants; j++) {
+                for (int slot = target * popSize; slot < (target + 1) * popSize; slot++) {
+                    if (population[slot] == residents[j]) {
+                        population[slot] = new CLBChromosome(emigrants[i][j]);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+    
+    private void exchange() {
+        CLBChromosome[] elites = population.clone();
+        
+        Arrays.sort(elites);
+        channel.send(Arrays.asList(Arrays.copyOf(elites, Math.max(1, migrants))));
+        
+        for (CLBChromosome immigrant : channel.receive()) {
+            evaluator.evaluate(immigrant);
+            evaluations.incrementAndGet();
+            executedEvaluations.increment();
+            
+            int from = random.nextInt(islands) * popSize;
+            int worst = from;
+            
+            for (int slot = from + 1; slot < from + popSize; slot++) {
+                if (population[slot].compareTo(population[worst]) > 0) {
+                    worst = slot;
+                }
+            }
+            
+            population[worst] = immigrant;
+        }
+        
+        CLBChromosome globalBest = channel.getGlobalBest();
+        
+        if (globalBest != null) {
+            best = getBetter(best, globalBest);
+        }
+    }
+    
+    private CLBChromosome[] sortIsland(int island, Comparator<CLBChromosome> comparator) {
+        CLBChromosome[] members = Arrays.copyOfRange(population, island * popSize, (island + 1) * popSize);
+        
+        Arrays.sort(members, comparator);
+        
+        return members;
+    }
+    
+    private void steadyStateIteration() {
+        int workers = backend.getParallelism();
+        AtomicLong remaining = new AtomicLong((long) (maxGenerations + 1) * popSize * mutationsPerParent);
+        SplittableRandom[] workerRandoms = new SplittableRandom[workers];
+        
+        for (int i = 0; i < workers; i++) {
+            workerRandoms[i] = random.split();
+        }
+        
+        long startEvaluations = evaluations.get();
+        
+        stopped = false;
+        sharedBest.set(best);
+        sharedPopulation = new AtomicReferenceArray<>(population);
+        time = System.currentTimeMillis();
+        reportTime = System.nanoTime();
+        
+        backend.forEach(workers, worker -> steadyStateWorker(workerRandoms[worker], remaining));
+        
+        for (int i = 0; i < popSize; i++) {
+            population[i] = sharedPopulation.get(i);
+        }
+        
+        best = sharedBest.get();
+        sharedPopulation = null;
+        generation += (int) ((evaluations.get() - startEvaluations) / ((long) popSize * mutationsPerParent));
+    }
+    
+    private void steadyStateWorker(SplittableRandom random, AtomicLong remaining) {
+        long reportInterval = (long) popSize * mutationsPerParent;
+        
+        while (!stopped && remaining.addAndGet(-mutationsPerParent) >= 0L) {
+            int slot = random.nextInt(popSize);
+            CLBChromosome parent = sharedPopulation.get(slot);
+            CLBChromosome survivor = produceSurvivor(parent, random);
+            
+            if (survivor != parent) {
+                replace(slot, parent, survivor);
+            }
+            
+            CLBChromosome currentBest = sharedBest.accumulateAndGet(survivor, FPGAGeneticAlgorithm::getBetter);
+            
+            if (firstAcceptable && currentBest.getError() == 0) {
+                stopped = true;
+            }
+            
+            long done = evaluations.addAndGet(mutationsPerParent);
+            
+            if (done / reportInterval != (done - mutationsPerParent) / reportInterval) {
+                reportProgress(done / reportInterval);
+            }
+        }
+    }
+    
+    private void replace(int slot, CLBChromosome parent, CLBChromosome survivor) {
+        CLBChromosome current = parent;
+        
+        while (!sharedPopulation.compareAndSet(slot, current, survivor)) {
+            current = sharedPopulation.get(slot);
+            
+            if (getBetter(survivor, current) != survivor) {
+                return;
+            }
+        }
+    }
+    
+    private synchronized void reportProgress(long interval) {
+        long printStart = System.nanoTime();
+        
+        if (incrementalElites > 0) {
+            retainSharedBlockTables();
+        }
+        
+        if (printMessages) {
+            printProgress();
+        }
+        
+        notifyListeners((int) interval, 1, reportTime, printStart);
+        reportTime = System.nanoTime();
+    }
+    
+    private void retainSharedBlockTables() {
+        CLBChromosome[] members = new CLBChromosome[popSize];
+        
+        for (int i = 0; i < popSize; i++) {
+            members[i] = sharedPopulation.get(i);
+        }
+        
+        CLBChromosome[] ranked = members.clone();
+        Set<CLBChromosome> elites = Collections.newSetFromMap(new IdentityHashMap<>());
+        
+        Arrays.sort(ranked);
+        elites.addAll(Arrays.asList(ranked).subList(0, Math.min(incrementalElites, popSize)));
+        
+        for (int i = 0; i < popSize; i++) {
+            CLBChromosome member = members[i];
+            boolean elite = elites.contains(member);
+            
+            if (elite != member.hasBlockTables()) {
+                CLBChromosome copy = new CLBChromosome(member);
+                
+                if (elite) {
+                    copy.resetBlockTables();
+                } else {
+                    copy.dropBlockTables();
+                }
+                
+                sharedPopulation.compareAndSet(i, member, copy);
+            }
+        }
+    }
+    
+    private void printProgress() {
+        String prefix = "";
+        
+        if (printTime) {
+            prefix = "[" + (System.currentTimeMillis() - time) + " ms] ";
+        }
+        
+        int errorSum = 0;
+        int clbsSum = 0;
+        
+        for (int i = 0; i < popSize; i++) {
+            CLBChromosome pop = sharedPopulation.get(i);
+            
+            errorSum += pop.getError();
+            clbsSum += pop.getClbs();
+        }
+        
+        writeLine(prefix + "Evaluations: " + evaluations.get() + ", current best: " + sharedBest.get().getFitnessString()
+                + ", average: (" + (double) errorSum / popSize + ", " + (double) clbsSum / popSize + ").");
+    }
+    
+    private CLBChromosome produceSurvivor(CLBChromosome parent, SplittableRandom random) {
+        CLBChromosome bestChild = null;
+        long allocation = recorder == null ? 0L : recorder.startTask();
+        long mutationNanos = 0L;
+        long evaluationNanos = 0L;
+        long selectionNanos = 0L;
+        int evaluated = 0;
+        
+        for (int i = 0; i < mutationsPerParent; i++) {
+            long start = timestamp();
+            CLBChromosome child = new CLBChromosome(parent);
+            boolean mutated = child.mutate(random, mutationChance);
+            long mutationEnd = timestamp();
+            int bound = bestChild == null ? parent.getError() : Math.min(parent.getError(), bestChild.getError());
+            
+            if (mutated) {
+                int evaluationBound = earlyExit ? bound : Integer.MAX_VALUE;
+                
+                if (fitnessCache == null) {
+                    evaluator.evaluate(child, child.getActiveBlocks(), evaluationBound);
+                    evaluated++;
+                } else if (!fitnessCache.evaluate(child, evaluator, evaluationBound)) {
+                    evaluated++;
+                }
+            } else {
+                child.setError(parent.getError());
+                child.setClbs(parent.getClbs());
+            }
+            
+            long evaluationEnd = timestamp();
+            
+            if (bestChild == null) {
+                bestChild = child;
+            } else {
+                bestChild = getBetter(child, bestChild, bound, random);
+            }
+            
+            mutationNanos += mutationEnd - start;
+            evaluationNanos += evaluationEnd - mutationEnd;
+            selectionNanos += timestamp() - evaluationEnd;
+        }
+        
+        CLBChromosome survivor = getBetter(bestChild, parent, parent.getError(), random);
+        
+        executedEvaluations.add(evaluated);
+        
+        if (recorder != null) {
+            recorder.endTask(allocation, mutationNanos, evaluationNanos, selectionNanos, evaluated,
+                    mutationsPerParent - evaluated);
+        }
+        
+        return survivor;
+    }
+    
+    private void retainBlockTables(CLBChromosome[] members) {
+        retainBlockTables(members, incrementalElites);
+    }
+    
+    static void retainBlockTables(CLBChromosome[] members, int elites) {
+        if (elites == 0) {
+            return;
+        }
+        
+        CLBChromosome[] ranked = members;
+        
+        if (elites < members.length) {
+            ranked = members.clone();
+            Arrays.sort(ranked);
+        }
+        
+        for (int i = 0; i < ranked.length; i++) {
+            if (i >= elites) {
+                ranked[i].dropBlockTables();
+            } else if (!ranked[i].hasBlockTables()) {
+                ranked[i].resetBlockTables();
+            }
+        }
+    }
+    
+    private long timestamp() {
+        return recorder == null ? 0L : System.nanoTime();
+    }
+    
+    private void notifyListeners(int generation, int generations, long start, long printStart) {
+        if (recorder == null) {
+            return;
+        }
+        
+        long end = System.nanoTime();
+        CLBChromosome currentBest = sharedPopulation == null ? best : sharedBest.get();
+        int size = sharedPopulation == null ? population.length : sharedPopulation.length();
+        long errorSum = 0L;
+        long clbsSum = 0L;
+        
+        for (int i = 0; i < size; i++) {
+            CLBChromosome pop = sharedPopulation == null ? population[i] : sharedPopulation.get(i);
+            
+            errorSum += pop.getError();
+            clbsSum += pop.getClbs();
+        }
+        
+        GenerationStats stats = recorder.finish(generation, generations, end - start, end - printStart,
+                currentBest.getError(), currentBest.getClbs(), (double) errorSum / size, (double) clbsSum / size,
+                backend.getParallelism());
+        
+        for (IGenerationListener listener : listeners) {
+            listener.generationCompleted(stats);
+        }
+    }
+    
+    private static CLBChromosome findBest(CLBChromosome[] population) {
+        CLBChromosome best = population[0];
+        
+        for (int i = 1; i < population.length; i++) {
+            if (population[i].compareTo(best) < 0) {
+                best = population[i];
+            }
+        }
+        
+        return best;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public long getEvaluations() {
+        return evaluations.get();
+    }
+    
+    public long getExecutedEvaluations() {
+        return executedEvaluations.sum();
+    }
+    
+    public int getGenerations() {
+        return generation - 1;
+    }
+    
     public long getTotalTime() {
         return totalTime;
     }
     
-    private void printMessage(long time, int generation, SortedSet<CLBChromosome> population, CLBChromosome best) {
+    private void printMessage(long time, int generation, CLBChromosome[] population, CLBChromosome generationBest) {
         String prefix = "";
         
         if (printTime) {
@@ -222,8 +821,8 @@ public class FPGAGeneticAlgorithm {
             }
             
             writeLine(prefix + "Generation: " + generation + ", current best: " + best.getFitnessString()
-                    + ", generation best: " + population.first().getFitnessString() + ", average: ("
-                    + (double) errorSum / popSize + ", " + (double) clbsSum / popSize + ").");
+                    + ", generation best: " + generationBest.getFitnessString() + ", average: ("
+                    + (double) errorSum / population.length + ", " + (double) clbsSum / population.length + ").");
         }
     }
     
@@ -249,15 +848,11 @@ public class FPGAGeneticAlgorithm {
         }
     }
     
-    private static void synchronize(List<Future<?>> futures) {
-        futures.forEach(future -> {
-            try {
-                future.get();
-            } catch (Exception ignorable) {}
-        });
+    private static CLBChromosome getBetter(CLBChromosome first, CLBChromosome second) {
+        return first.compareTo(second) <= 0 ? first : second;
     }
     
-    private CLBChromosome getBetter(CLBChromosome first, CLBChromosome second) {
+    static CLBChromosome getBetter(CLBChromosome first, CLBChromosome second, SplittableRandom random) {
         int comparisonValue = first.compareTo(second);
         
         if (comparisonValue >= 1) {
@@ -269,18 +864,28 @@ public class FPGAGeneticAlgorithm {
         }
     }
     
+    static CLBChromosome getBetter(CLBChromosome child, CLBChromosome incumbent, int bound,
+            SplittableRandom random) {
+        if (child.isRejected() || child.getError() > bound) {
+            return incumbent;
+        }
+        
+        return getBetter(child, incumbent, random);
+    }
+    
     public static Builder builder() {
         return new Builder();
     }
     
-    private SortedSet<CLBChromosome> generatePopulation() {
-        SortedSet<CLBChromosome> population = new TreeSet<>();
+    private CLBChromosome[] generatePopulation(int size) {
+        CLBChromosome[] population = new CLBChromosome[size];
         List<IBooleanExpression> variables = evaluator.getVariables().stream()
                 .map(variableName -> new VariableExpression(variableName))
                 .collect(Collectors.toList());
         
-        for (int i = 0; i < popSize; i++) {
-            population.add(new CLBChromosome(random, numOfClbs, clbInputs, variables, evaluator.getFunctionNames()));
+        for (int i = 0; i < size; i++) {
+            population[i] = new CLBChromosome(random.split(), numOfClbs, clbInputs, variables, evaluator.getFunctionNames(),
+                    feedForward, levelsBack);
         }
         
         return population;
@@ -293,13 +898,28 @@ public class FPGAGeneticAlgorithm {
         private int clbInputs;
         private int mutationsPerParent;
         private int maxGenerations;
+        private int levelsBack;
+        private int islands;
+        private int migrationInterval;
+        private int migrants;
+        private int incrementalElites;
         private double mutationChance;
         private boolean printMessages;
         private boolean printTime;
         private boolean iterativeMode;
         private boolean firstAcceptable;
-        private Random random;
+        private boolean feedForward;
+        private boolean steadyState;
+        private boolean earlyExit;
+        private long seed;
+        private MigrationTopology topology;
         private Evaluator evaluator;
+        private IExecutionBackend backend;
+        private IMigrationChannel channel;
+        private Checkpoint resume;
+        private CheckpointWriter checkpointWriter;
+        private FitnessCache fitnessCache;
+        private final List<IGenerationListener> listeners = new ArrayList<>();
         private InputStream inputStream;
         private OutputStream outputStream;
         
@@ -308,7 +928,11 @@ public class FPGAGeneticAlgorithm {
             mutationsPerParent = 4;
             maxGenerations = 100;
             mutationChance = 0.05;
-            random = new Random();
+            migrationInterval = 10;
+            migrants = 1;
+            topology = MigrationTopology.RING;
+            earlyExit = true;
+            seed = new Random().nextLong();
             inputStream = System.in;
             outputStream = System.out;
         }
@@ -363,8 +987,48 @@ public class FPGAGeneticAlgorithm {
             return this;
         }
         
-        public Builder random(Random random) {
-            this.random = random;
+        public Builder feedForward(boolean feedForward) {
+            this.feedForward = feedForward;
+            return this;
+        }
+        
+        public Builder steadyState(boolean steadyState) {
+            this.steadyState = steadyState;
+            return this;
+        }
+        
+        public Builder earlyExit(boolean earlyExit) {
+            this.earlyExit = earlyExit;
+            return this;
+        }
+        
+        public Builder levelsBack(int levelsBack) {
+            this.levelsBack = levelsBack;
+            return this;
+        }
+        
+        public Builder islands(int islands) {
+            this.islands = islands;
+            return this;
+        }
+        
+        public Builder migrationInterval(int migrationInterval) {
+            this.migrationInterval = migrationInterval;
+            return this;
+        }
+        
+        public Builder migrants(int migrants) {
+            this.migrants = migrants;
+            return this;
+        }
+        
+        public Builder topology(MigrationTopology topology) {
+            this.topology = topology;
+            return this;
+        }
+        
+        public Builder seed(long seed) {
+            this.seed = seed;
             return this;
         }
         
@@ -373,6 +1037,41 @@ public class FPGAGeneticAlgorithm {
             return this;
         }
         
+        public Builder backend(IExecutionBackend backend) {
+            this.backend = backend;
+            return this;
+        }
+        
+        public Builder migrationChannel(IMigrationChannel channel) {
+            this.channel = channel;
+            return this;
+        }
+        
+        public Builder resume(Checkpoint resume) {
+            this.resume = resume;
+            return this;
+        }
+        
+        public Builder checkpointWriter(CheckpointWriter checkpointWriter) {
+            this.checkpointWriter = checkpointWriter;
+            return this;
+        }
+        
+        public Builder incrementalElites(int incrementalElites) {
+            this.incrementalElites = incrementalElites;
+            return this;
+        }
+        
+        public Builder fitnessCache(FitnessCache fitnessCache) {
+            this.fitnessCache = fitnessCache;
+            return this;
+        }
+        
+        public Builder listener(IGenerationListener listener) {
+            listeners.add(checkIfNull("IGenerationListener object", listener));
+            return this;
+        }
+        
         public Builder inputStream(InputStream inputStream) {
             this.inputStream = inputStream;
             return this;
@@ -0,0 +1,126 @@
+package at.doml.fpgasolver.solver;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class FitnessCache {
+    
+    private static final int WAYS = 8;
+    private static final int MAX_LOCKS = 256;
+    private static final byte USED = 1;
+    private static final byte REFERENCED = 2;
+    
+    private final int setMask;
+    private final int lockMask;
+    private final long[] keys;
+    private final long[] fitnesses;
+    private final byte[] flags;
+    private final byte[] hands;
+    private final Object[] locks;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    public FitnessCache(int capacity) {
+        if (capacity < WAYS) {
+            throw new IllegalArgumentException("Fitness cache capacity must be at least " + WAYS + ".");
+        }
+        
+        int sets = Integer.highestOneBit(capacity / WAYS);
+        
+        setMask = sets - 1;
+        lockMask = Math.min(sets, MAX_LOCKS) - 1;
+        keys = new long[sets * WAYS];
+        fitnesses = new long[sets * WAYS];
+        flags = new byte[sets * WAYS];
+        hands = new byte[sets];
+        locks = new Object[lockMask + 1];
+        
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+    
+    public boolean evaluate(CLBChromosome chromosome, Evaluator evaluator) {
+        return evaluate(chromosome, evaluator, Integer.MAX_VALUE);
+    }
+    
+    public boolean evaluate(CLBChromosome chromosome, Evaluator evaluator, int bound) {
+        int[] activeBlocks = chromosome.getActiveBlocks();
+        long key = chromosome.getActiveHash(activeBlocks);
+        int set = (int) (key ^ (key >>> 32)) & setMask;
+        
+        synchronized (locks[set & lockMask]) {
+            for (int i = set * WAYS, end = i + WAYS; i < end; i++) {
+                if ((flags[i] & USED) != 0 && keys[i] == key) {
+                    flags[i] |= REFERENCED;
+                    chromosome.setError((int) (fitnesses[i] >>> 32));
+                    chromosome.setClbs((int) fitnesses[i]);
+                    hits.increment();
+                    
+                    return true;
+                }
+            }
+        }
+        
+        misses.increment();
+        
+        if (evaluator.evaluate(chromosome, activeBlocks, bound)) {
+            store(set, key, ((long) chromosome.getError() << 32) | (chromosome.getClbs() & 0xFFFFFFFFL));
+        }
+        
+        return false;
+    }
+    
+    private void store(int set, long key, long fitness) {
+        synchronized (locks[set & lockMask]) {
+            int first = set * WAYS;
+            
+            for (int i = first, end = first + WAYS; i < end; i++) {
+                if ((flags[i] & USED) != 0 && keys[i] == key) {
+                    return;
+                }
+            }
+            
+            int hand = hands[set];
+            
+            while ((flags[first + hand] & REFERENCED) != 0) {
+                flags[first + hand] &= ~REFERENCED;
+                hand = (hand + 1) % WAYS;
+            }
+            
+            int slot = first + hand;
+            
+            if ((flags[slot] & USED) != 0) {
+                evictions.increment();
+            }
+            
+            keys[slot] = key;
+            fitnesses[slot] = fitness;
+            flags[slot] = USED;
+            hands[set] = (byte) ((hand + 1) % WAYS);
+        }
+    }
+    
+    public int getCapacity() {
+        return keys.length;
+    }
+    
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    public long getEvictions() {
+        return evictions.sum();
+    }
+    
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        
+        return total == 0L ? 0.0 : (double) hits / total;
+    }
+}
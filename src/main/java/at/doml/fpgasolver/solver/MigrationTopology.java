@@ -0,0 +1,27 @@
+package at.doml.fpgasolver.solver;
+
+public enum MigrationTopology {
+    
+    RING("ring"),
+    RANDOM("random");
+    
+    private final String name;
+    
+    private MigrationTopology(String name) {
+        this.name = name;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public static MigrationTopology forName(String name) {
+        for (MigrationTopology topology : values()) {
+            if (topology.name.equals(name)) {
+                return topology;
+            }
+        }
+        
+        throw new IllegalArgumentException("Unknown migration topology: " + name);
+    }
+}
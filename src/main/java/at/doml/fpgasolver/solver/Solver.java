@@ -25,7 +25,17 @@ import at.doml.fpgasolver.args.abstracts.AbstractArgument;
 import at.doml.fpgasolver.args.exceptions.MissingPropertyException;
 import at.doml.fpgasolver.args.exceptions.ParameterException;
 import at.doml.fpgasolver.args.exceptions.UnknownArgumentException;
+import at.doml.fpgasolver.checkpoint.Checkpoint;
+import at.doml.fpgasolver.checkpoint.CheckpointWriter;
+import at.doml.fpgasolver.distributed.Coordinator;
+import at.doml.fpgasolver.distributed.Worker;
+import at.doml.fpgasolver.distributed.interfaces.IMigrationChannel;
+import at.doml.fpgasolver.execution.BackendType;
 import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.instrumentation.PrometheusFileWriter;
+import at.doml.fpgasolver.instrumentation.SolverMetrics;
+import at.doml.fpgasolver.instrumentation.StatsFormat;
+import at.doml.fpgasolver.instrumentation.StatsWriter;
 import at.doml.fpgasolver.parsing.exceptions.LexicalException;
 import at.doml.fpgasolver.parsing.exceptions.SyntaxException;
 import at.doml.fpgasolver.parsing.lexical.LexicalAnalyser;
@@ -41,10 +51,35 @@ public class Solver {
     private static final FieldKey<Integer> POP_SIZE = new FieldKey<>("popSize", 50);
     private static final FieldKey<Integer> GENERATIONS = new FieldKey<>("generations", 500);
     private static final FieldKey<Integer> MUTATIONS_PER_PARENT = new FieldKey<>("mutationsPerParent", 4);
+    private static final FieldKey<Integer> LEVELS_BACK = new FieldKey<>("levelsBack", 0);
+    private static final FieldKey<Integer> ISLANDS = new FieldKey<>("islands", 0);
+    private static final FieldKey<Integer> MIGRATION_INTERVAL = new FieldKey<>("migrationInterval", 10);
+    private static final FieldKey<Integer> MIGRANTS = new FieldKey<>("migrants", 1);
+    private static final FieldKey<Integer> COORDINATOR_PORT = new FieldKey<>("coordinatorPort", 0);
+    private static final FieldKey<Integer> WORKER_PORT = new FieldKey<>("workerPort", 0);
+    private static final FieldKey<String> WORKER_HOST = new FieldKey<>("workerHost", "");
+    private static final FieldKey<Integer> CHECKPOINT_GENERATIONS = new FieldKey<>("checkpointGenerations", 100);
+    private static final FieldKey<Integer> CHECKPOINT_SECONDS = new FieldKey<>("checkpointSeconds", 0);
+    private static final FieldKey<String> CHECKPOINT_FILE = new FieldKey<>("checkpointFile", "");
+    private static final FieldKey<String> RESUME_FILE = new FieldKey<>("resumeFile", "");
+    private static final FieldKey<String> STATS_FILE = new FieldKey<>("statsFile", "");
+    private static final FieldKey<StatsFormat> STATS_FORMAT = new FieldKey<>("statsFormat", StatsFormat.CSV);
+    private static final FieldKey<String> PROMETHEUS_FILE = new FieldKey<>("prometheusFile", "");
+    private static final FieldKey<Integer> PROMETHEUS_SECONDS = new FieldKey<>("prometheusSeconds", 15);
+    private static final FieldKey<Integer> INCREMENTAL_ELITES = new FieldKey<>("incrementalElites", 0);
+    private static final FieldKey<Integer> CACHE_SIZE = new FieldKey<>("cacheSize", 0);
+    private static final FieldKey<Integer> THREADS = new FieldKey<>("threads",
+            Runtime.getRuntime().availableProcessors());
+    private static final FieldKey<Long> SEED = new FieldKey<>("seed", new Random().nextLong());
+    private static final FieldKey<BackendType> BACKEND = new FieldKey<>("backend", BackendType.FORK_JOIN);
+    private static final FieldKey<MigrationTopology> TOPOLOGY = new FieldKey<>("topology", MigrationTopology.RING);
     private static final FieldKey<Boolean> PRINT_TIME = new FieldKey<>("printTime", Boolean.FALSE);
     private static final FieldKey<Boolean> PRINT_MESSAGES = new FieldKey<>("printMessages", Boolean.FALSE);
     private static final FieldKey<Boolean> ITERATIVE_MODE = new FieldKey<>("iterativeMode", Boolean.FALSE);
     private static final FieldKey<Boolean> FIRST_ACCEPTABLE = new FieldKey<>("firstAcceptable", Boolean.FALSE);
+    private static final FieldKey<Boolean> FEED_FORWARD = new FieldKey<>("feedForward", Boolean.FALSE);
+    private static final FieldKey<Boolean> JMX = new FieldKey<>("jmx", Boolean.FALSE);
+    private static final FieldKey<Boolean> STEADY_STATE = new FieldKey<>("steadyState", Boolean.FALSE);
     
     public static void main(String[] args) {
         ArgumentParser argumentParser = null;
@@ -134,8 +169,86 @@ public class Solver {
         
         checkForCycles(functions);
         
+        boolean distributed = argumentParser.getProperty(COORDINATOR_PORT) > 0
+                || argumentParser.getProperty(WORKER_PORT) > 0;
+        
+        if (argumentParser.getProperty(STEADY_STATE) && (argumentParser.getProperty(ISLANDS) > 0 || distributed)) {
+            printErrorAndExit("Steady-state mode cannot be combined with island or distributed mode.", -1);
+        }
+        
+        if (argumentParser.getProperty(STEADY_STATE) && (!argumentParser.getProperty(CHECKPOINT_FILE).isEmpty()
+                || !argumentParser.getProperty(RESUME_FILE).isEmpty())) {
+            printErrorAndExit("Steady-state mode does not support checkpoints.", -1);
+        }
+        
+        if (argumentParser.getProperty(COORDINATOR_PORT) > 0 && argumentParser.getProperty(WORKER_PORT) > 0) {
+            printErrorAndExit("Process cannot be both a coordinator and a worker.", -1);
+        }
+        
+        if (argumentParser.getProperty(MIGRANTS) >= argumentParser.getProperty(POP_SIZE)) {
+            printErrorAndExit("Number of migrants must be less than the population size.", -1);
+        }
+        
         Evaluator evaluator = new Evaluator(functions.toArray(new FunctionExpression[functions.size()]));
-        FPGAGeneticAlgorithm algorithm = FPGAGeneticAlgorithm.builder()
+        ChromosomeCodec codec = new ChromosomeCodec(evaluator, argumentParser.getProperty(CLBS),
+                argumentParser.getProperty(INPUTS), argumentParser.getProperty(FEED_FORWARD),
+                argumentParser.getProperty(LEVELS_BACK));
+        IMigrationChannel channel = null;
+        int islands = argumentParser.getProperty(ISLANDS);
+        
+        try {
+            if (argumentParser.getProperty(COORDINATOR_PORT) > 0) {
+                channel = new Coordinator(argumentParser.getProperty(COORDINATOR_PORT), codec,
+                        argumentParser.getProperty(FIRST_ACCEPTABLE));
+            } else if (argumentParser.getProperty(WORKER_PORT) > 0) {
+                channel = new Worker(argumentParser.getProperty(WORKER_HOST), argumentParser.getProperty(WORKER_PORT),
+                        codec);
+            }
+        } catch (IOException e) {
+            printErrorAndExit("Unable to open migration connection: " + e.getMessage(), -6);
+        }
+        
+        if (channel != null && islands == 0) {
+            islands = argumentParser.getProperty(THREADS);
+        }
+        
+        Checkpoint resume = null;
+        CheckpointWriter checkpointWriter = null;
+        String resumeFile = argumentParser.getProperty(RESUME_FILE);
+        String checkpointFile = argumentParser.getProperty(CHECKPOINT_FILE);
+        
+        if (!resumeFile.isEmpty()) {
+            try {
+                resume = Checkpoint.read(Paths.get(resumeFile), codec);
+            } catch (IOException e) {
+                printErrorAndExit("Unable to read checkpoint: " + e.getMessage(), -7);
+            }
+        }
+        
+        if (!checkpointFile.isEmpty()) {
+            checkpointWriter = new CheckpointWriter(Paths.get(checkpointFile), codec,
+                    argumentParser.getProperty(CHECKPOINT_GENERATIONS),
+                    argumentParser.getProperty(CHECKPOINT_SECONDS) * 1000L);
+        }
+        
+        StatsWriter statsWriter = null;
+        String statsFile = argumentParser.getProperty(STATS_FILE);
+        
+        if (!statsFile.isEmpty()) {
+            try {
+                statsWriter = new StatsWriter(Paths.get(statsFile), argumentParser.getProperty(STATS_FORMAT));
+            } catch (IOException e) {
+                printErrorAndExit("Unable to open statistics file: " + statsFile, -2);
+            }
+        }
+        
+        FitnessCache fitnessCache = null;
+        
+        if (argumentParser.getProperty(CACHE_SIZE) > 0) {
+            fitnessCache = new FitnessCache(argumentParser.getProperty(CACHE_SIZE));
+        }
+        
+        FPGAGeneticAlgorithm.Builder builder = FPGAGeneticAlgorithm.builder()
                 .popSize(argumentParser.getProperty(POP_SIZE))
                 .numOfClbs(argumentParser.getProperty(CLBS))
                 .clbInputs(argumentParser.getProperty(INPUTS))
@@ -146,19 +259,80 @@ public class Solver {
                 .printTime(argumentParser.getProperty(PRINT_TIME))
                 .firstAcceptable(argumentParser.getProperty(FIRST_ACCEPTABLE))
                 .iterativeMode(argumentParser.getProperty(ITERATIVE_MODE))
-                .random(new Random())
+                .feedForward(argumentParser.getProperty(FEED_FORWARD))
+                .levelsBack(argumentParser.getProperty(LEVELS_BACK))
+                .steadyState(argumentParser.getProperty(STEADY_STATE))
+                .islands(islands)
+                .migrationInterval(argumentParser.getProperty(MIGRATION_INTERVAL))
+                .migrants(argumentParser.getProperty(MIGRANTS))
+                .topology(argumentParser.getProperty(TOPOLOGY))
+                .migrationChannel(channel)
+                .resume(resume)
+                .checkpointWriter(checkpointWriter)
+                .fitnessCache(fitnessCache)
+                .incrementalElites(argumentParser.getProperty(INCREMENTAL_ELITES))
+                .seed(argumentParser.getProperty(SEED))
+                .backend(argumentParser.getProperty(BACKEND).create(argumentParser.getProperty(THREADS)))
                 .evaluator(evaluator)
                 .inputStream(System.in)
-                .outputStream(System.out)
-                .build();
+                .outputStream(System.out);
+        
+        if (statsWriter != null) {
+            builder.listener(statsWriter);
+        }
+        
+        SolverMetrics metrics = null;
+        PrometheusFileWriter prometheusWriter = null;
+        String prometheusFile = argumentParser.getProperty(PROMETHEUS_FILE);
+        
+        if (argumentParser.getProperty(JMX) || !prometheusFile.isEmpty()) {
+            metrics = new SolverMetrics();
+            builder.listener(metrics);
+            
+            if (argumentParser.getProperty(JMX)) {
+                metrics.register();
+            }
+            
+            if (!prometheusFile.isEmpty()) {
+                prometheusWriter = new PrometheusFileWriter(Paths.get(prometheusFile),
+                        argumentParser.getProperty(PROMETHEUS_SECONDS) * 1000L, metrics);
+                prometheusWriter.start();
+            }
+        }
+        
+        FPGAGeneticAlgorithm algorithm = builder.build();
         
         CLBChromosome solution = algorithm.findSolution();
         
+        if (channel != null) {
+            channel.close();
+        }
+        
+        if (statsWriter != null) {
+            statsWriter.close();
+        }
+        
+        if (prometheusWriter != null) {
+            prometheusWriter.stop();
+        }
+        
+        if (metrics != null) {
+            metrics.unregister();
+        }
+        
         if (argumentParser.getProperty(PRINT_MESSAGES)) {
             System.out.println();
         }
         
         System.out.println("Found solution in " + algorithm.getTotalTime() + "ms.");
+        System.out.println("Evaluations: " + algorithm.getEvaluations());
+        
+        if (fitnessCache != null) {
+            System.out.println("Fitness cache - hits: " + fitnessCache.getHits() + ", misses: "
+                    + fitnessCache.getMisses() + ", evictions: " + fitnessCache.getEvictions() + ".");
+        }
+        
+        System.out.println("Random seed: " + algorithm.getSeed());
         System.out.println("Solution - errors: " + solution.getError() + ", number of CLBs: " + solution.getClbs());
         System.out.println();
         System.out.println(solution);
@@ -301,6 +475,91 @@ public class Solver {
         AbstractArgument firstAcceptable = new ShortArgument('f', 0, (params, propertySetter) -> {
             activateBooleanProperty(FIRST_ACCEPTABLE, propertySetter);
         });
+        AbstractArgument feedForward = new ShortArgument('F', 0, (params, propertySetter) -> {
+            activateBooleanProperty(FEED_FORWARD, propertySetter);
+        });
+        AbstractArgument steadyState = new ShortArgument('S', 0, (params, propertySetter) -> {
+            activateBooleanProperty(STEADY_STATE, propertySetter);
+        });
+        AbstractArgument levelsBack = new LongArgument("levels-back", 1, (params, propertySetter) -> {
+            createNumberAction("--levels-back", "greater than or equal to 1", LEVELS_BACK, Integer::parseInt,
+                    value -> value < 1).accept(params, propertySetter);
+            activateBooleanProperty(FEED_FORWARD, propertySetter);
+        });
+        AbstractArgument seed = new LongArgument("seed", 1,
+                createNumberAction("--seed", "of any size", SEED, Long::parseLong, value -> false));
+        AbstractArgument threads = new LongArgument("threads", 1,
+                createNumberAction("--threads", "greater than or equal to 1", THREADS, Integer::parseInt,
+                        value -> value < 1));
+        AbstractArgument backend = new LongArgument("backend", 1, (params, propertySetter) -> {
+            try {
+                propertySetter.setProperty(BACKEND, BackendType.forName(params[0]));
+            } catch (IllegalArgumentException e) {
+                throw new ParameterException("Value forkjoin, threadpool or sequential was expected for parameter of "
+                        + "--backend argument.");
+            }
+        });
+        AbstractArgument islands = new LongArgument("islands", 1,
+                createNumberAction("--islands", "greater than or equal to 1", ISLANDS, Integer::parseInt,
+                        value -> value < 1));
+        AbstractArgument migrationInterval = new LongArgument("migration-interval", 1,
+                createNumberAction("--migration-interval", "greater than or equal to 1", MIGRATION_INTERVAL,
+                        Integer::parseInt, value -> value < 1));
+        AbstractArgument migrants = new LongArgument("migrants", 1,
+                createNumberAction("--migrants", "greater than or equal to 0", MIGRANTS, Integer::parseInt,
+                        value -> value < 0));
+        AbstractArgument topology = new LongArgument("topology", 1, (params, propertySetter) -> {
+            try {
+                propertySetter.setProperty(TOPOLOGY, MigrationTopology.forName(params[0]));
+            } catch (IllegalArgumentException e) {
+                throw new ParameterException("Value ring or random was expected for parameter of --topology argument.");
+            }
+        });
+        AbstractArgument coordinator = new LongArgument("coordinator", 1,
+                createNumberAction("--coordinator", "between 1 and 65535", COORDINATOR_PORT, Integer::parseInt,
+                        value -> value < 1 || value > 65535));
+        AbstractArgument worker = new LongArgument("worker", 2, (params, propertySetter) -> {
+            propertySetter.setProperty(WORKER_HOST, params[0]);
+            createNumberAction("--worker", "between 1 and 65535", WORKER_PORT, Integer::parseInt,
+                    value -> value < 1 || value > 65535).accept(new String[] { params[1] }, propertySetter);
+        });
+        AbstractArgument checkpoint = new LongArgument("checkpoint", 1, (params, propertySetter) -> {
+            propertySetter.setProperty(CHECKPOINT_FILE, params[0]);
+        });
+        AbstractArgument checkpointGenerations = new LongArgument("checkpoint-generations", 1,
+                createNumberAction("--checkpoint-generations", "greater than or equal to 0", CHECKPOINT_GENERATIONS,
+                        Integer::parseInt, value -> value < 0));
+        AbstractArgument checkpointSeconds = new LongArgument("checkpoint-seconds", 1,
+                createNumberAction("--checkpoint-seconds", "greater than or equal to 0", CHECKPOINT_SECONDS,
+                        Integer::parseInt, value -> value < 0));
+        AbstractArgument resume = new LongArgument("resume", 1, (params, propertySetter) -> {
+            propertySetter.setProperty(RESUME_FILE, params[0]);
+        });
+        AbstractArgument stats = new LongArgument("stats", 1, (params, propertySetter) -> {
+            propertySetter.setProperty(STATS_FILE, params[0]);
+        });
+        AbstractArgument statsFormat = new LongArgument("stats-format", 1, (params, propertySetter) -> {
+            try {
+                propertySetter.setProperty(STATS_FORMAT, StatsFormat.forName(params[0]));
+            } catch (IllegalArgumentException e) {
+                throw new ParameterException("Value csv or jsonl was expected for parameter of --stats-format argument.");
+            }
+        });
+        AbstractArgument jmx = new LongArgument("jmx", 0, (params, propertySetter) -> {
+            activateBooleanProperty(JMX, propertySetter);
+        });
+        AbstractArgument prometheus = new LongArgument("prometheus", 1, (params, propertySetter) -> {
+            propertySetter.setProperty(PROMETHEUS_FILE, params[0]);
+        });
+        AbstractArgument prometheusSeconds = new LongArgument("prometheus-seconds", 1,
+                createNumberAction("--prometheus-seconds", "greater than or equal to 1", PROMETHEUS_SECONDS,
+                        Integer::parseInt, value -> value < 1));
+        AbstractArgument cache = new LongArgument("cache", 1,
+                createNumberAction("--cache", "0 or greater than or equal to 8", CACHE_SIZE,
+                        Integer::parseInt, value -> value != 0 && value < 8));
+        AbstractArgument incremental = new LongArgument("incremental", 1,
+                createNumberAction("--incremental", "greater than or equal to 1", INCREMENTAL_ELITES,
+                        Integer::parseInt, value -> value < 1));
         AbstractArgument fpga = new LongArgument("fpga", 2, (params, propertySetter) -> {
             try {
                 Integer clbs = Integer.parseInt(params[0]);
@@ -329,9 +588,37 @@ public class Solver {
         defaultProperties.add(MUTATION_CHANCE);
         defaultProperties.add(FIRST_ACCEPTABLE);
         defaultProperties.add(MUTATIONS_PER_PARENT);
+        defaultProperties.add(FEED_FORWARD);
+        defaultProperties.add(LEVELS_BACK);
+        defaultProperties.add(STEADY_STATE);
+        defaultProperties.add(SEED);
+        defaultProperties.add(THREADS);
+        defaultProperties.add(BACKEND);
+        defaultProperties.add(ISLANDS);
+        defaultProperties.add(MIGRATION_INTERVAL);
+        defaultProperties.add(MIGRANTS);
+        defaultProperties.add(TOPOLOGY);
+        defaultProperties.add(COORDINATOR_PORT);
+        defaultProperties.add(WORKER_PORT);
+        defaultProperties.add(WORKER_HOST);
+        defaultProperties.add(CHECKPOINT_FILE);
+        defaultProperties.add(CHECKPOINT_GENERATIONS);
+        defaultProperties.add(CHECKPOINT_SECONDS);
+        defaultProperties.add(RESUME_FILE);
+        defaultProperties.add(STATS_FILE);
+        defaultProperties.add(STATS_FORMAT);
+        defaultProperties.add(JMX);
+        defaultProperties.add(CACHE_SIZE);
+        defaultProperties.add(INCREMENTAL_ELITES);
+        defaultProperties.add(PROMETHEUS_FILE);
+        defaultProperties.add(PROMETHEUS_SECONDS);
         
         ArgumentParser argumentParser = new ArgumentParser(defaultProperties, generations, popSize, mutationChance,
-                printMessages, printTime, iterativeMode, firstAcceptable, fpga, mutationsPerParent);
+                printMessages, printTime, iterativeMode, firstAcceptable, fpga, mutationsPerParent, feedForward,
+                levelsBack, steadyState, seed, threads, backend, islands, migrationInterval, migrants, topology,
+                coordinator, worker, checkpoint, checkpointGenerations, checkpointSeconds, resume,
+                stats, statsFormat, jmx, prometheus, prometheusSeconds,
+                cache, incremental);
         
         argumentParser.parse(args);
         argumentParser.getProperty(CLBS);
@@ -0,0 +1,89 @@
+package at.doml.fpgasolver.checkpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import at.doml.fpgasolver.expressions.AndExpression;
+import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.expressions.VariableExpression;
+import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
+import at.doml.fpgasolver.solver.CLBChromosome;
+import at.doml.fpgasolver.solver.ChromosomeCodec;
+import at.doml.fpgasolver.solver.Evaluator;
+
+public class CheckpointTest {
+    
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    
+    private final Evaluator evaluator = new Evaluator(new FunctionExpression("f", new AndExpression()
+            .addExpression(new VariableExpression("a"))
+            .addExpression(new VariableExpression("b"))));
+    private final List<IBooleanExpression> variables = Arrays.asList(
+            new VariableExpression("a"), new VariableExpression("b"));
+    
+    private Path writeCheckpoint() throws IOException {
+        SplittableRandom random = new SplittableRandom(5);
+        CLBChromosome[] population = new CLBChromosome[3];
+        
+        for (int i = 0; i < population.length; i++) {
+            population[i] = new CLBChromosome(random.split(), 4, 2, variables, evaluator.getFunctionNames(), true, 2);
+        }
+        
+        Path file = folder.getRoot().toPath().resolve("run.ckpt");
+        
+        new Checkpoint(12, 345L, 7L, 8L, new long[0], 4, 2, 2, true, 2, population[0], population)
+                .write(file, new ChromosomeCodec(evaluator, 4, 2, true, 2));
+        
+        return file;
+    }
+    
+    @Test
+    public void readsCheckpointWrittenWithSameOptions() throws IOException {
+        Checkpoint checkpoint = Checkpoint.read(writeCheckpoint(), new ChromosomeCodec(evaluator, 4, 2, true, 2));
+        
+        assertEquals(12, checkpoint.getGeneration());
+        assertEquals(345L, checkpoint.getEvaluations());
+        assertEquals(4, checkpoint.getNumOfClbs());
+        assertEquals(2, checkpoint.getClbInputs());
+        assertEquals(2, checkpoint.getNumOfVariables());
+        assertEquals(2, checkpoint.getLevelsBack());
+        assertEquals(3, checkpoint.getPopulation().length);
+    }
+    
+    @Test
+    public void rejectsCheckpointWrittenWithDifferentOptions() throws IOException {
+        Path file = writeCheckpoint();
+        
+        assertRejected(file, new ChromosomeCodec(evaluator, 5, 2, true, 2));
+        assertRejected(file, new ChromosomeCodec(evaluator, 4, 3, true, 2));
+        assertRejected(file, new ChromosomeCodec(evaluator, 4, 2, false, 0));
+        assertRejected(file, new ChromosomeCodec(evaluator, 4, 2, true, 3));
+    }
+    
+    @Test
+    public void rejectsCheckpointOfDifferentCircuitWithSameCounts() throws IOException {
+        Path file = writeCheckpoint();
+        
+        assertRejected(file, new ChromosomeCodec(new Evaluator(new FunctionExpression("f", new AndExpression()
+                .addExpression(new VariableExpression("a"))
+                .addExpression(new VariableExpression("c")))), 4, 2, true, 2));
+        assertRejected(file, new ChromosomeCodec(new Evaluator(new FunctionExpression("g", new AndExpression()
+                .addExpression(new VariableExpression("a"))
+                .addExpression(new VariableExpression("b")))), 4, 2, true, 2));
+    }
+    
+    private static void assertRejected(Path file, ChromosomeCodec codec) {
+        try {
+            Checkpoint.read(file, codec);
+            fail("Checkpoint with different options was read.");
+        } catch (IOException expected) {}
+    }
+}
@@ -0,0 +1,167 @@
+package at.doml.fpgasolver.distributed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Test;
+import at.doml.fpgasolver.distributed.interfaces.IMigrationChannel;
+import at.doml.fpgasolver.expressions.AndExpression;
+import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.expressions.VariableExpression;
+import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
+import at.doml.fpgasolver.solver.CLBChromosome;
+import at.doml.fpgasolver.solver.ChromosomeCodec;
+import at.doml.fpgasolver.solver.Evaluator;
+
+public class CoordinatorTest {
+    
+    private static final long TIMEOUT = 10000L;
+    private static final String LOOPBACK = "127.0.0.1";
+    
+    private final Evaluator evaluator = new Evaluator(new FunctionExpression("f", new AndExpression()
+            .addExpression(new VariableExpression("a"))
+            .addExpression(new VariableExpression("b"))));
+    private final ChromosomeCodec codec = new ChromosomeCodec(evaluator, 4, 2, false, 0);
+    private final List<IBooleanExpression> variables = Arrays.asList(
+            new VariableExpression("a"), new VariableExpression("b"));
+    
+    private CLBChromosome chromosome(long seed, int error) {
+        CLBChromosome chromosome = new CLBChromosome(new SplittableRandom(seed), 4, 2, variables,
+                evaluator.getFunctionNames());
+        
+        chromosome.setError(error);
+        chromosome.setClbs(4);
+        
+        return chromosome;
+    }
+    
+    @Test
+    public void exchangesMigrantsAroundTheRingAndStopsCleanly() throws Exception {
+        Coordinator coordinator = new Coordinator(0, codec, false);
+        Worker first = new Worker(LOOPBACK, coordinator.getPort(), codec);
+        Worker second = new Worker(LOOPBACK, coordinator.getPort(), codec);
+        
+        assertExchange(coordinator, first, second);
+        assertNotNull(coordinator.getGlobalBest());
+        assertEquals(1, coordinator.getGlobalBest().getError());
+        
+        coordinator.close();
+        
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        
+        while ((!first.isStopped() || !second.isStopped()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        
+        assertTrue(coordinator.isStopped());
+        assertTrue(first.isStopped());
+        assertTrue(second.isStopped());
+        
+        first.close();
+        second.close();
+    }
+    
+    @Test
+    public void disconnectsPeerSendingMalformedFrameAndKeepsMigrating() throws Exception {
+        Coordinator coordinator = new Coordinator(0, codec, false);
+        SocketChannel garbage = SocketChannel.open(new InetSocketAddress(LOOPBACK, coordinator.getPort()));
+        SocketChannel oversized = SocketChannel.open(new InetSocketAddress(LOOPBACK, coordinator.getPort()));
+        Worker worker = new Worker(LOOPBACK, coordinator.getPort(), codec);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(codec.getFingerprint());
+            out.writeInt(1);
+            out.writeInt(1 << 20);
+            out.writeInt(16);
+        }
+        
+        byte[] noise = new byte[64];
+        
+        Arrays.fill(noise, (byte) 0x7F);
+        
+        assertClosedAfter(garbage, Protocol.frame(Protocol.MIGRANTS, noise));
+        assertClosedAfter(oversized, Protocol.frame(Protocol.MIGRANTS, bytes.toByteArray()));
+        assertExchange(coordinator, worker);
+        assertFalse(coordinator.isStopped());
+        
+        coordinator.close();
+        worker.close();
+    }
+    
+    private static void assertClosedAfter(SocketChannel channel, ByteBuffer frame) throws Exception {
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+        
+        channel.configureBlocking(false);
+        
+        ByteBuffer buffer = ByteBuffer.allocate(Protocol.HEADER_SIZE);
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        
+        try {
+            while (channel.read(buffer) >= 0) {
+                assertTrue("Peer with a malformed frame was not disconnected",
+                        System.currentTimeMillis() < deadline);
+                buffer.clear();
+                Thread.sleep(10L);
+            }
+        } catch (IOException ignorable) {
+        } finally {
+            channel.close();
+        }
+    }
+    
+    private void assertExchange(IMigrationChannel... channels) throws InterruptedException {
+        List<List<CLBChromosome>> received = new ArrayList<>();
+        
+        for (int i = 0; i < channels.length; i++) {
+            received.add(new ArrayList<>());
+        }
+        
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        
+        while (hasEmpty(received) && System.currentTimeMillis() < deadline) {
+            for (int i = 0; i < channels.length; i++) {
+                channels[i].send(Collections.singletonList(chromosome(i, i + 1)));
+            }
+            
+            Thread.sleep(50L);
+            
+            for (int i = 0; i < channels.length; i++) {
+                received.get(i).addAll(channels[i].receive());
+            }
+        }
+        
+        for (int i = 0; i < channels.length; i++) {
+            assertFalse("Channel " + i + " received no migrants", received.get(i).isEmpty());
+            
+            for (CLBChromosome migrant : received.get(i)) {
+                assertTrue(migrant.getError() >= 1 && migrant.getError() <= channels.length);
+                assertTrue("Channel " + i + " received its own migrant", migrant.getError() != i + 1);
+            }
+        }
+    }
+    
+    private static boolean hasEmpty(List<List<CLBChromosome>> received) {
+        for (List<CLBChromosome> migrants : received) {
+            if (migrants.isEmpty()) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+}
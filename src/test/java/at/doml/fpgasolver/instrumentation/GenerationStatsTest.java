@@ -0,0 +1,52 @@
+package at.doml.fpgasolver.instrumentation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.Collections;
+import java.util.Locale;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GenerationStatsTest {
+    
+    private Locale defaultLocale;
+    
+    @Before
+    public void useCommaDecimalLocale() {
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("hr", "HR"));
+    }
+    
+    @After
+    public void restoreLocale() {
+        Locale.setDefault(defaultLocale);
+    }
+    
+    private static GenerationStats stats() {
+        return new GenerationStats(3, 10, 2_000_000_000L, 500_000_000L, 500_000_000L, 500_000_000L, 0L, 3L, 1L,
+                1024L, 5, 7, 2.5, 7.25, 2, Collections.singletonMap("worker-1", 1024L));
+    }
+    
+    @Test
+    public void csvRowUsesDotDecimalsUnderCommaLocale() {
+        String row = stats().toCsvRow();
+        String[] columns = row.split(",");
+        
+        assertEquals(GenerationStats.CSV_HEADER.split(",").length, columns.length);
+        assertEquals("1.5", columns[9]);
+        assertEquals("2.5", columns[13]);
+        assertEquals("7.25", columns[14]);
+        assertEquals("0.375", columns[16]);
+    }
+    
+    @Test
+    public void jsonUsesDotDecimalsUnderCommaLocale() {
+        String json = stats().toJson();
+        
+        assertTrue(json, json.contains("\"evaluationsPerSecond\":1.5,"));
+        assertTrue(json, json.contains("\"averageError\":2.5,"));
+        assertTrue(json, json.contains("\"averageClbs\":7.25,"));
+        assertTrue(json, json.contains("\"threadUtilization\":0.375,"));
+    }
+}
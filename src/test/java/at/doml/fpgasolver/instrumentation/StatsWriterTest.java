@@ -0,0 +1,56 @@
+package at.doml.fpgasolver.instrumentation;
+
+import static org.junit.Assert.assertEquals;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StatsWriterTest {
+    
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    
+    private static GenerationStats stats(int generation) {
+        return new GenerationStats(generation, 10, 2_000_000_000L, 500_000_000L, 500_000_000L, 500_000_000L, 0L,
+                3L, 1L, 1024L, 5, 7, 2.5, 7.25, 2, Collections.singletonMap("worker-1", 1024L));
+    }
+    
+    @Test
+    public void csvRowsAreOnDiskBeforeClose() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("stats.csv");
+        StatsWriter writer = new StatsWriter(file, StatsFormat.CSV);
+        
+        try {
+            assertEquals(Collections.singletonList(GenerationStats.CSV_HEADER),
+                    Files.readAllLines(file, StandardCharsets.UTF_8));
+            
+            writer.generationCompleted(stats(1));
+            writer.generationCompleted(stats(2));
+            
+            assertEquals(Arrays.asList(GenerationStats.CSV_HEADER, stats(1).toCsvRow(), stats(2).toCsvRow()),
+                    Files.readAllLines(file, StandardCharsets.UTF_8));
+        } finally {
+            writer.close();
+        }
+    }
+    
+    @Test
+    public void jsonRowsAreOnDiskBeforeClose() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("stats.jsonl");
+        StatsWriter writer = new StatsWriter(file, StatsFormat.JSONL);
+        
+        try {
+            writer.generationCompleted(stats(1));
+            
+            assertEquals(Collections.singletonList(stats(1).toJson()), Files.readAllLines(file, StandardCharsets.UTF_8));
+        } finally {
+            writer.close();
+        }
+    }
+}
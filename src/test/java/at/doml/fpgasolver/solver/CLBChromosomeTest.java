@@ -0,0 +1,92 @@
+package at.doml.fpgasolver.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import at.doml.fpgasolver.expressions.VariableExpression;
+import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
+
+public class CLBChromosomeTest {
+    
+    private static final int BLOCKS = 12;
+    private static final int INPUTS = 3;
+    
+    private final Evaluator evaluator = TestCircuits.adder(2);
+    private final List<IBooleanExpression> variables = evaluator.getVariables().stream()
+            .map(VariableExpression::new)
+            .collect(Collectors.toList());
+    
+    private static int[] inputs(CLBChromosome chromosome) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            chromosome.writeTo(out);
+        }
+        
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            int[] inputs = new int[in.readInt() * in.readInt()];
+            
+            in.readInt();
+            in.readInt();
+            in.readBoolean();
+            in.readInt();
+            in.readInt();
+            in.readInt();
+            
+            for (int i = 0; i < inputs.length; i++) {
+                inputs[i] = in.readInt();
+            }
+            
+            return inputs;
+        }
+    }
+    
+    private void checkFeedForwardMutations(int levelsBack, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        CLBChromosome chromosome = new CLBChromosome(random.split(), BLOCKS, INPUTS, variables,
+                evaluator.getFunctionNames(), true, levelsBack);
+        int blockInputs = 0;
+        
+        for (int step = 0; step <= 500; step++) {
+            int[] inputs = inputs(chromosome);
+            
+            assertEquals(BLOCKS * INPUTS, inputs.length);
+            
+            for (int i = 0; i < inputs.length; i++) {
+                int block = i / INPUTS;
+                int source = inputs[i] - variables.size();
+                String message = "levels-back " + levelsBack + ", seed " + seed + ", step " + step + ": CLB "
+                        + block + " reads " + inputs[i];
+                
+                assertTrue(message, inputs[i] >= 0 && source < block);
+                
+                if (source >= 0) {
+                    assertTrue(message, levelsBack == 0 || source >= block - levelsBack);
+                    blockInputs++;
+                }
+            }
+            
+            chromosome = new CLBChromosome(chromosome);
+            chromosome.mutate(random, 0.2);
+        }
+        
+        assertTrue("No CLB inputs were drawn", blockInputs > 0);
+    }
+    
+    @Test
+    public void feedForwardMutationsKeepInputsWithinLevelsBack() throws IOException {
+        for (int levelsBack : new int[] { 0, 1, 3, BLOCKS }) {
+            for (long seed = 1; seed <= 5; seed++) {
+                checkFeedForwardMutations(levelsBack, seed);
+            }
+        }
+    }
+}
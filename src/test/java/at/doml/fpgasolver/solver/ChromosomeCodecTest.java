@@ -0,0 +1,148 @@
+package at.doml.fpgasolver.solver;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Test;
+import at.doml.fpgasolver.expressions.AndExpression;
+import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.expressions.VariableExpression;
+import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
+
+public class ChromosomeCodecTest {
+    
+    private static final int BLOCKS = 3;
+    private static final int INPUTS = 2;
+    
+    private static Evaluator evaluator() {
+        return evaluator("f", "a", "b");
+    }
+    
+    private static Evaluator evaluator(String function, String first, String second) {
+        return new Evaluator(new FunctionExpression(function, new AndExpression()
+                .addExpression(new VariableExpression(first))
+                .addExpression(new VariableExpression(second))));
+    }
+    
+    private static List<IBooleanExpression> variables() {
+        return Arrays.asList(new VariableExpression("a"), new VariableExpression("b"));
+    }
+    
+    private static byte[] header(int count, int blocks, int inputs, boolean feedForward, int levelsBack)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(new ChromosomeCodec(evaluator(), BLOCKS, INPUTS, false, 0).getFingerprint());
+            out.writeInt(count);
+            out.writeInt(blocks);
+            out.writeInt(inputs);
+            out.writeInt(2);
+            out.writeInt(1);
+            out.writeBoolean(feedForward);
+            out.writeInt(levelsBack);
+        }
+        
+        return bytes.toByteArray();
+    }
+    
+    private static byte[] encode(boolean feedForward, int levelsBack, int... inputs) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(header(1, BLOCKS, INPUTS, feedForward, levelsBack));
+            out.writeInt(0);
+            out.writeInt(BLOCKS);
+            
+            for (int input : inputs) {
+                out.writeInt(input);
+            }
+            
+            out.writeLong(0L);
+            out.writeInt(BLOCKS - 1);
+        }
+        
+        return bytes.toByteArray();
+    }
+    
+    private static void assertRejected(ChromosomeCodec codec, byte[] bytes) {
+        try {
+            codec.decode(bytes);
+            fail("Invalid chromosome was decoded.");
+        } catch (IOException expected) {}
+    }
+    
+    @Test
+    public void roundTripPreservesGenome() throws IOException {
+        Evaluator evaluator = evaluator();
+        ChromosomeCodec codec = new ChromosomeCodec(evaluator, BLOCKS, INPUTS, false, 0);
+        CLBChromosome chromosome = new CLBChromosome(new SplittableRandom(3), BLOCKS, INPUTS, variables(),
+                evaluator.getFunctionNames());
+        
+        byte[] bytes = codec.encode(Collections.singletonList(chromosome));
+        List<CLBChromosome> decoded = codec.decode(bytes);
+        
+        assertEquals(1, decoded.size());
+        assertArrayEquals(bytes, codec.encode(decoded));
+    }
+    
+    @Test
+    public void acceptsAcyclicConnections() throws IOException {
+        ChromosomeCodec codec = new ChromosomeCodec(evaluator(), BLOCKS, INPUTS, false, 0);
+        
+        assertEquals(1, codec.decode(encode(false, 0, 4, 0, 0, 1, 3, 1)).size());
+    }
+    
+    @Test
+    public void rejectsCyclicConnections() throws IOException {
+        ChromosomeCodec codec = new ChromosomeCodec(evaluator(), BLOCKS, INPUTS, false, 0);
+        
+        assertRejected(codec, encode(false, 0, 0, 4, 0, 1, 2, 1));
+        assertRejected(codec, encode(false, 0, 2, 0, 0, 1, 0, 1));
+    }
+    
+    @Test
+    public void rejectsFeedForwardViolations() throws IOException {
+        ChromosomeCodec codec = new ChromosomeCodec(evaluator(), BLOCKS, INPUTS, true, 1);
+        
+        assertEquals(1, codec.decode(encode(true, 1, 0, 1, 2, 0, 3, 1)).size());
+        assertRejected(codec, encode(true, 1, 3, 0, 0, 1, 0, 1));
+        assertRejected(codec, encode(true, 1, 0, 1, 2, 0, 2, 1));
+    }
+    
+    @Test
+    public void rejectsMismatchedOptions() throws IOException {
+        byte[] bytes = encode(true, 1, 0, 1, 2, 0, 3, 1);
+        
+        assertRejected(new ChromosomeCodec(evaluator(), BLOCKS, INPUTS, false, 0), bytes);
+        assertRejected(new ChromosomeCodec(evaluator(), BLOCKS, INPUTS, true, 2), bytes);
+        assertRejected(new ChromosomeCodec(evaluator(), BLOCKS + 1, INPUTS, true, 1), bytes);
+    }
+    
+    @Test
+    public void rejectsDifferentCircuitWithSameCounts() throws IOException {
+        byte[] bytes = encode(false, 0, 4, 0, 0, 1, 3, 1);
+        
+        assertRejected(new ChromosomeCodec(evaluator("f", "a", "c"), BLOCKS, INPUTS, false, 0), bytes);
+        assertRejected(new ChromosomeCodec(evaluator("g", "a", "b"), BLOCKS, INPUTS, false, 0), bytes);
+    }
+    
+    @Test
+    public void rejectsOversizedHeadersBeforeAllocating() throws IOException {
+        ChromosomeCodec codec = new ChromosomeCodec(evaluator(), BLOCKS, INPUTS, false, 0);
+        
+        assertRejected(codec, header(1, 1 << 20, 16, false, 0));
+        assertRejected(codec, header(1, BLOCKS, Integer.SIZE, false, 0));
+        assertRejected(codec, header(1, -BLOCKS, INPUTS, false, 0));
+        assertRejected(codec, Arrays.copyOf(header(Integer.MAX_VALUE, BLOCKS, INPUTS, false, 0), Long.BYTES
+                + Integer.BYTES));
+        assertRejected(codec, header(-1, BLOCKS, INPUTS, false, 0));
+    }
+}
@@ -0,0 +1,99 @@
+package at.doml.fpgasolver.solver;
+
+import static org.junit.Assert.assertEquals;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+public class DirectedGraphTest {
+    
+    private static boolean[] reachableFrom(boolean[][] edges, int from) {
+        boolean[] reached = new boolean[edges.length];
+        Deque<Integer> queue = new ArrayDeque<>();
+        
+        queue.add(from);
+        
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            
+            for (int next = 0; next < edges.length; next++) {
+                if (edges[node][next] && !reached[next]) {
+                    reached[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        
+        return reached;
+    }
+    
+    private static void assertMatches(String message, DirectedGraph graph, boolean[][] edges) {
+        for (int to = 0; to < edges.length; to++) {
+            boolean[] reached = reachableFrom(edges, to);
+            int rank = 0;
+            
+            for (int node = 0; node < edges.length; node++) {
+                assertEquals(message + ": " + to + " -> " + node, reached[node], graph.isReachable(to, node));
+                assertEquals(message + ": edge " + to + " -> " + node, edges[to][node], graph.isConnected(to, node));
+                
+                if (node != to && !reached[node]) {
+                    assertEquals(message + ": source " + rank + " of " + to, node, graph.selectValidSource(to, rank));
+                    rank++;
+                }
+            }
+            
+            assertEquals(message + ": sources of " + to, rank, graph.countValidSources(to));
+        }
+    }
+    
+    private static void checkRandomOperations(int numOfNodes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        DirectedGraph graph = new DirectedGraph(numOfNodes);
+        boolean[][] edges = new boolean[numOfNodes][numOfNodes];
+        
+        for (int step = 0; step < 400; step++) {
+            String message = numOfNodes + " nodes, seed " + seed + ", step " + step;
+            int from = random.nextInt(numOfNodes);
+            int to = random.nextInt(numOfNodes);
+            
+            if (random.nextInt(3) == 0) {
+                graph.disconnect(from, to);
+                edges[from][to] = false;
+            } else {
+                boolean cycle = from == to || reachableFrom(edges, to)[from];
+                
+                assertEquals(message + ": cycle " + from + " -> " + to, cycle, graph.wouldCreateCycle(from, to));
+                
+                if (!cycle) {
+                    graph.connect(from, to);
+                    edges[from][to] = true;
+                }
+            }
+            
+            if (random.nextInt(8) == 0) {
+                graph = new DirectedGraph(graph);
+            }
+            
+            if (step % 20 == 19) {
+                assertMatches(message, graph, edges);
+            }
+        }
+    }
+    
+    @Test
+    public void closureMatchesBreadthFirstSearchInOneWord() {
+        for (long seed = 1; seed <= 10; seed++) {
+            checkRandomOperations(12, seed);
+            checkRandomOperations(64, seed);
+        }
+    }
+    
+    @Test
+    public void closureMatchesBreadthFirstSearchAcrossWords() {
+        for (long seed = 1; seed <= 4; seed++) {
+            checkRandomOperations(65, seed);
+            checkRandomOperations(130, seed);
+        }
+    }
+}
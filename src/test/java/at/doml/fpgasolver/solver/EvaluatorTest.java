@@ -0,0 +1,136 @@
+package at.doml.fpgasolver.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import at.doml.fpgasolver.corpus.Circuits;
+import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.expressions.VariableExpression;
+import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
+import at.doml.fpgasolver.logic.TruthTable;
+import at.doml.fpgasolver.parsing.lexical.LexicalAnalyser;
+import at.doml.fpgasolver.parsing.syntax.SyntaxAnalyser;
+
+public class EvaluatorTest {
+    
+    private static final List<String> PAIRS = Arrays.asList(
+            "f <= (a and b);",
+            "g <= (c xor d);",
+            "h <= ((e or f1) and g1);",
+            "k <= not (h1 or (i and j));");
+    
+    private static int referenceError(CLBChromosome chromosome, List<FunctionExpression> targets,
+            SortedSet<String> variables) {
+        List<String> names = new ArrayList<>(variables);
+        int error = 0;
+        
+        for (FunctionExpression target : targets) {
+            IBooleanExpression output = chromosome.getFunctionOutput(target.getName());
+            int difference = 0;
+            
+            for (int row = 0; row < 1 << names.size(); row++) {
+                SortedMap<String, Boolean> values = new TreeMap<>();
+                
+                for (int i = 0; i < names.size(); i++) {
+                    values.put(names.get(i), (row & (1 << i)) != 0);
+                }
+                
+                if (output.evaluate(values) != target.evaluate(values)) {
+                    difference++;
+                }
+            }
+            
+            assertEquals(target.getName(), difference,
+                    new TruthTable(output, variables).countDifferentRows(new TruthTable(target, variables)));
+            error += difference;
+        }
+        
+        return error;
+    }
+    
+    private static void assertScored(String message, CLBChromosome chromosome, int expected) {
+        assertFalse(message, chromosome.isRejected());
+        assertEquals(message + " error", expected, chromosome.getError());
+        assertEquals(message + " CLBs", chromosome.getActiveBlocks().length, chromosome.getClbs());
+    }
+    
+    private static void assertBounded(String message, Evaluator evaluator, CLBChromosome chromosome, int expected) {
+        CLBChromosome accepted = new CLBChromosome(chromosome);
+        
+        assertTrue(message, evaluator.evaluate(accepted, accepted.getActiveBlocks(), expected));
+        assertScored(message + " accepted", accepted, expected);
+        
+        if (expected > 0) {
+            CLBChromosome rejected = new CLBChromosome(chromosome);
+            
+            assertFalse(message, evaluator.evaluate(rejected, rejected.getActiveBlocks(), expected - 1));
+            assertTrue(message + " rejected", rejected.isRejected());
+        }
+    }
+    
+    private static void checkScoringPaths(List<String> circuit, int blocks, int inputs, boolean feedForward,
+            int levelsBack) {
+        Evaluator evaluator = TestCircuits.evaluator(circuit);
+        List<FunctionExpression> targets = new SyntaxAnalyser(new LexicalAnalyser(circuit).getLexicalUnits())
+                .parseTokens();
+        SortedSet<String> variables = evaluator.getVariables();
+        List<IBooleanExpression> variableExpressions = variables.stream()
+                .map(VariableExpression::new)
+                .collect(Collectors.toList());
+        
+        for (long seed = 1; seed <= 6; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            CLBChromosome full = new CLBChromosome(random.split(), blocks, inputs, variableExpressions,
+                    evaluator.getFunctionNames(), feedForward, levelsBack);
+            CLBChromosome incremental = new CLBChromosome(full);
+            
+            incremental.resetBlockTables();
+            
+            for (int step = 0; step < 25; step++) {
+                String message = circuit.size() + " functions, seed " + seed + ", step " + step;
+                int expected = referenceError(full, targets, variables);
+                
+                assertBounded(message + ", full", evaluator, full, expected);
+                assertBounded(message + ", incremental", evaluator, incremental, expected);
+                evaluator.evaluate(full);
+                evaluator.evaluate(incremental);
+                assertScored(message + ", full", full, expected);
+                assertScored(message + ", incremental", incremental, expected);
+                
+                long mutationSeed = random.nextLong();
+                
+                full = new CLBChromosome(full);
+                incremental = new CLBChromosome(incremental);
+                full.mutate(new SplittableRandom(mutationSeed), 0.15);
+                incremental.mutate(new SplittableRandom(mutationSeed), 0.15);
+            }
+        }
+    }
+    
+    @Test
+    public void scoresSingleWordTables() {
+        checkScoringPaths(Circuits.adder(2), 8, 3, false, 0);
+        checkScoringPaths(Circuits.adder(2), 8, 2, true, 3);
+    }
+    
+    @Test
+    public void scoresMultiWordTables() {
+        checkScoringPaths(Circuits.adder(4), 8, 3, false, 0);
+        checkScoringPaths(Circuits.parity(7), 6, 3, true, 0);
+    }
+    
+    @Test
+    public void scoresSupportRestrictedTables() {
+        checkScoringPaths(PAIRS, 6, 2, false, 0);
+        checkScoringPaths(PAIRS, 8, 2, true, 4);
+    }
+}
@@ -0,0 +1,211 @@
+package at.doml.fpgasolver.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import at.doml.fpgasolver.checkpoint.Checkpoint;
+import at.doml.fpgasolver.checkpoint.CheckpointWriter;
+import at.doml.fpgasolver.execution.SequentialBackend;
+import at.doml.fpgasolver.expressions.VariableExpression;
+import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
+
+public class FPGAGeneticAlgorithmTest {
+    
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    
+    private static final List<IBooleanExpression> VARIABLES = Arrays.asList(
+            new VariableExpression("a"), new VariableExpression("b"));
+    private static final List<String> FUNCTIONS = Arrays.asList("f");
+    
+    private static CLBChromosome chromosome(int error, int clbs) {
+        CLBChromosome chromosome = new CLBChromosome(new SplittableRandom(1), 4, 2, VARIABLES, FUNCTIONS);
+        
+        chromosome.setError(error);
+        chromosome.setClbs(clbs);
+        
+        return chromosome;
+    }
+    
+    @Test
+    public void getBetterPrefersLowerErrorThenFewerClbs() {
+        SplittableRandom random = new SplittableRandom(7);
+        CLBChromosome better = chromosome(1, 3);
+        CLBChromosome worse = chromosome(2, 1);
+        CLBChromosome larger = chromosome(1, 4);
+        
+        for (int i = 0; i < 100; i++) {
+            assertSame(better, FPGAGeneticAlgorithm.getBetter(better, worse, random));
+            assertSame(better, FPGAGeneticAlgorithm.getBetter(worse, better, random));
+            assertSame(better, FPGAGeneticAlgorithm.getBetter(larger, better, random));
+        }
+    }
+    
+    @Test
+    public void getBetterBreaksTiesRandomly() {
+        SplittableRandom random = new SplittableRandom(7);
+        CLBChromosome first = chromosome(1, 3);
+        CLBChromosome second = chromosome(1, 3);
+        int firstWins = 0;
+        
+        for (int i = 0; i < 1000; i++) {
+            if (FPGAGeneticAlgorithm.getBetter(first, second, random) == first) {
+                firstWins++;
+            }
+        }
+        
+        assertTrue("First chosen " + firstWins + " times out of 1000", firstWins > 400 && firstWins < 600);
+    }
+    
+    @Test
+    public void retainBlockTablesKeepsTablesOnlyForElites() {
+        CLBChromosome[] members = new CLBChromosome[6];
+        
+        for (int i = 0; i < members.length; i++) {
+            members[i] = chromosome((i * 5) % members.length, 2);
+            
+            if (i % 2 == 0) {
+                members[i].resetBlockTables();
+            }
+        }
+        
+        FPGAGeneticAlgorithm.retainBlockTables(members, 2);
+        
+        for (CLBChromosome member : members) {
+            if (member.getError() < 2) {
+                assertTrue("Elite " + member.getFitnessString() + " has no tables", member.hasBlockTables());
+            } else {
+                assertFalse("Non-elite " + member.getFitnessString() + " has tables", member.hasBlockTables());
+            }
+        }
+    }
+    
+    @Test
+    public void getBetterDropsChildrenOverTheBoundWithoutATieBreak() {
+        SplittableRandom random = new SplittableRandom(7);
+        SplittableRandom reference = new SplittableRandom(7);
+        CLBChromosome incumbent = chromosome(3, 2);
+        CLBChromosome worse = chromosome(5, 2);
+        CLBChromosome rejected = chromosome(3, 2);
+        
+        rejected.reject();
+        
+        assertSame(incumbent, FPGAGeneticAlgorithm.getBetter(worse, incumbent, 3, random));
+        assertSame(incumbent, FPGAGeneticAlgorithm.getBetter(rejected, incumbent, 3, random));
+        assertSame(worse, FPGAGeneticAlgorithm.getBetter(rejected, worse, 3, random));
+        
+        for (int i = 0; i < 10; i++) {
+            CLBChromosome tied = chromosome(5, 2);
+            
+            assertSame(tied, FPGAGeneticAlgorithm.getBetter(worse, tied, 3, random));
+        }
+        
+        assertEquals(reference.nextLong(), random.nextLong());
+    }
+    
+    @Test
+    public void earlyExitDoesNotChangeTrajectory() {
+        for (int islands : new int[] { 0, 3 }) {
+            for (long seed = 1; seed <= 3; seed++) {
+                assertEquals("islands=" + islands + ", seed=" + seed,
+                        TestCircuits.trajectory(seed, builder -> builder.islands(islands).earlyExit(false)),
+                        TestCircuits.trajectory(seed, builder -> builder.islands(islands)));
+            }
+        }
+    }
+    
+    @Test
+    public void checkpointingDoesNotChangeTrajectory() throws IOException {
+        ChromosomeCodec codec = new ChromosomeCodec(TestCircuits.adder(2), 14, 3, false, 0);
+        
+        for (int islands : new int[] { 0, 3 }) {
+            String expected = TestCircuits.trajectory(5, builder -> builder.islands(islands));
+            String result = expected.substring(expected.lastIndexOf('\n') + 1);
+            
+            for (int interval : new int[] { 1, 35 }) {
+                String message = "islands=" + islands + ", interval=" + interval;
+                Path file = folder.getRoot().toPath().resolve("run-" + islands + "-" + interval + ".ckpt");
+                
+                assertEquals(message, expected, TestCircuits.trajectory(5, builder -> builder
+                        .islands(islands)
+                        .checkpointWriter(new CheckpointWriter(file, codec, interval, 0L))));
+                
+                Checkpoint checkpoint = Checkpoint.read(file, codec);
+                String resumed = TestCircuits.trajectory(5, builder -> builder.islands(islands).resume(checkpoint));
+                
+                assertEquals(message, result, resumed.substring(resumed.lastIndexOf('\n') + 1));
+            }
+        }
+    }
+    
+    @Test
+    public void fitnessCacheDoesNotChangeTrajectory() {
+        for (int islands : new int[] { 0, 3 }) {
+            for (int elites : new int[] { 0, 4 }) {
+                for (long seed = 1; seed <= 3; seed++) {
+                    assertEquals("islands=" + islands + ", elites=" + elites + ", seed=" + seed,
+                            TestCircuits.trajectory(seed, builder -> builder
+                                    .islands(islands)
+                                    .incrementalElites(elites)),
+                            TestCircuits.trajectory(seed, builder -> builder
+                                    .islands(islands)
+                                    .incrementalElites(elites)
+                                    .fitnessCache(new FitnessCache(256))));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void islandsCountOnlyCompletedGenerationsAfterStopping() {
+        int solved = 0;
+        
+        for (int islands : new int[] { 1, 3 }) {
+            for (long seed = 1; seed <= 5; seed++) {
+                FPGAGeneticAlgorithm algorithm = FPGAGeneticAlgorithm.builder()
+                        .popSize(12)
+                        .numOfClbs(14)
+                        .clbInputs(3)
+                        .mutationsPerParent(2)
+                        .maxGenerations(2000)
+                        .mutationChance(0.1)
+                        .firstAcceptable(true)
+                        .islands(islands)
+                        .migrationInterval(25)
+                        .seed(seed)
+                        .backend(new SequentialBackend())
+                        .evaluator(TestCircuits.adder(2))
+                        .build();
+                CLBChromosome best = algorithm.findSolution();
+                
+                if (best.getError() != 0) {
+                    continue;
+                }
+                
+                String message = "islands=" + islands + ", seed=" + seed;
+                long perGeneration = 12L * 2L;
+                long completed = algorithm.getGenerations();
+                long evaluations = algorithm.getEvaluations() - 12L * islands;
+                
+                solved++;
+                assertTrue(message, evaluations >= completed * perGeneration);
+                assertTrue(message, evaluations <= completed * perGeneration * islands);
+                
+                if (islands == 1) {
+                    assertEquals(message, completed * perGeneration, evaluations);
+                }
+            }
+        }
+        
+        assertTrue(solved > 0);
+    }
+}
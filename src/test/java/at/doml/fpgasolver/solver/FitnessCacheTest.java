@@ -0,0 +1,150 @@
+package at.doml.fpgasolver.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import at.doml.fpgasolver.expressions.VariableExpression;
+import at.doml.fpgasolver.expressions.interfaces.IBooleanExpression;
+
+public class FitnessCacheTest {
+    
+    private final Evaluator evaluator = TestCircuits.adder(2);
+    private final List<IBooleanExpression> variables = evaluator.getVariables().stream()
+            .map(VariableExpression::new)
+            .collect(Collectors.toList());
+    
+    private CLBChromosome[] chromosomes(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        CLBChromosome[] chromosomes = new CLBChromosome[count];
+        
+        for (int i = 0; i < count; i++) {
+            chromosomes[i] = new CLBChromosome(random.split(), 10, 3, variables, evaluator.getFunctionNames());
+        }
+        
+        return chromosomes;
+    }
+    
+    private boolean lookup(FitnessCache cache, CLBChromosome chromosome) {
+        CLBChromosome copy = new CLBChromosome(chromosome);
+        boolean hit = cache.evaluate(copy, evaluator);
+        
+        assertEquals(chromosome.getFitnessString(), copy.getFitnessString());
+        
+        return hit;
+    }
+    
+    @Test
+    public void hitsReturnTheStoredFitness() {
+        FitnessCache cache = new FitnessCache(64);
+        
+        for (CLBChromosome chromosome : chromosomes(20, 1)) {
+            evaluator.evaluate(chromosome);
+            
+            assertFalse(lookup(cache, chromosome));
+            assertTrue(lookup(cache, chromosome));
+        }
+        
+        assertEquals(20L, cache.getHits());
+        assertEquals(20L, cache.getMisses());
+    }
+    
+    @Test
+    public void keysSharingASetDoNotMix() {
+        FitnessCache cache = new FitnessCache(8);
+        CLBChromosome[] chromosomes = chromosomes(8, 2);
+        
+        for (CLBChromosome chromosome : chromosomes) {
+            evaluator.evaluate(chromosome);
+            lookup(cache, chromosome);
+        }
+        
+        for (CLBChromosome chromosome : chromosomes) {
+            assertTrue(lookup(cache, chromosome));
+        }
+        
+        assertEquals(0L, cache.getEvictions());
+    }
+    
+    @Test
+    public void clockEvictionSparesReferencedEntries() {
+        FitnessCache cache = new FitnessCache(8);
+        CLBChromosome[] chromosomes = chromosomes(9, 3);
+        
+        for (CLBChromosome chromosome : chromosomes) {
+            evaluator.evaluate(chromosome);
+        }
+        
+        for (int i = 0; i < 8; i++) {
+            lookup(cache, chromosomes[i]);
+        }
+        
+        assertTrue(lookup(cache, chromosomes[0]));
+        assertFalse(lookup(cache, chromosomes[8]));
+        assertEquals(1L, cache.getEvictions());
+        assertTrue(lookup(cache, chromosomes[0]));
+        assertFalse(lookup(cache, chromosomes[1]));
+    }
+    
+    @Test
+    public void rejectedEvaluationsAreNotStored() {
+        FitnessCache cache = new FitnessCache(64);
+        
+        for (CLBChromosome chromosome : chromosomes(20, 4)) {
+            evaluator.evaluate(chromosome);
+            
+            if (chromosome.getError() > 0) {
+                CLBChromosome copy = new CLBChromosome(chromosome);
+                
+                assertFalse(cache.evaluate(copy, evaluator, chromosome.getError() - 1));
+                assertTrue(copy.isRejected());
+                assertFalse(lookup(cache, chromosome));
+            }
+        }
+    }
+    
+    @Test
+    public void concurrentLookupsReturnExactFitness() throws Exception {
+        FitnessCache cache = new FitnessCache(16);
+        CLBChromosome[] chromosomes = chromosomes(64, 5);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        
+        for (CLBChromosome chromosome : chromosomes) {
+            evaluator.evaluate(chromosome);
+        }
+        
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            
+            for (int thread = 0; thread < 4; thread++) {
+                long seed = thread;
+                
+                futures.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    
+                    for (int i = 0; i < 2000; i++) {
+                        lookup(cache, chromosomes[random.nextInt(chromosomes.length)]);
+                    }
+                }));
+            }
+            
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        
+        assertEquals(8000L, cache.getHits() + cache.getMisses());
+        assertTrue(cache.getEvictions() > 0L);
+    }
+}
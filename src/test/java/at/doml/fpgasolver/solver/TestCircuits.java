@@ -0,0 +1,53 @@
+package at.doml.fpgasolver.solver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.function.Consumer;
+import at.doml.fpgasolver.corpus.Circuits;
+import at.doml.fpgasolver.execution.SequentialBackend;
+import at.doml.fpgasolver.expressions.FunctionExpression;
+import at.doml.fpgasolver.parsing.lexical.LexicalAnalyser;
+import at.doml.fpgasolver.parsing.syntax.SyntaxAnalyser;
+
+final class TestCircuits {
+    
+    private TestCircuits() {}
+    
+    static Evaluator evaluator(List<String> lines) {
+        List<FunctionExpression> functions = new SyntaxAnalyser(new LexicalAnalyser(lines).getLexicalUnits())
+                .parseTokens();
+        
+        return new Evaluator(functions.toArray(new FunctionExpression[functions.size()]));
+    }
+    
+    static Evaluator adder(int bits) {
+        return evaluator(Circuits.adder(bits));
+    }
+    
+    static String trajectory(long seed, Consumer<FPGAGeneticAlgorithm.Builder> options) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        FPGAGeneticAlgorithm.Builder builder = FPGAGeneticAlgorithm.builder()
+                .popSize(12)
+                .numOfClbs(14)
+                .clbInputs(3)
+                .maxGenerations(60)
+                .mutationChance(0.1)
+                .printMessages(true)
+                .seed(seed)
+                .backend(new SequentialBackend())
+                .evaluator(adder(2))
+                .outputStream(output);
+        
+        options.accept(builder);
+        
+        FPGAGeneticAlgorithm algorithm = builder.build();
+        CLBChromosome best = algorithm.findSolution();
+        
+        try {
+            return output.toString("UTF-8") + best.getFitnessString() + " after " + algorithm.getGenerations();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}